@@ -1,32 +1,44 @@
 package com.softmeth.project5;
 import android.os.Bundle;
-import android.view.View;
-import android.widget.AdapterView;
+import android.util.Log;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.ListView;
-import android.widget.Spinner;
 import android.widget.TextView;
+import android.widget.Toast;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Activity to display all placed orders within the app.
- * Users can view details of each order, including total amounts, and have the option to cancel any order.
+ * Orders are listed a page at a time; selecting one loads its details, including the total amount,
+ * and the user has the option to cancel it or to add its items to the current order again.
+ * Pages, order details and cancellations are loaded and written by the OrderService's workers, so
+ * the list never waits on the order log.
  *
  * @author Ridwan Sharkar
  */
 public class AllOrdersActivity extends AppCompatActivity {
-    private Spinner ordersSpinner;
+    private static final String TAG = "AllOrdersActivity";
+    private static final int PREFETCH_DISTANCE = 5;
+    private RecyclerView ordersRecyclerView;
     private ListView orderDetailsListView;
     private TextView totalAmountTextView;
     private Button cancelOrderButton;
-    private ArrayAdapter<String> orderNamesAdapter;
+    private Button reorderButton;
+    private OrderHeaderAdapter orderHeaderAdapter;
     private ArrayAdapter<String> orderDetailsAdapter;
+    private OrderService orderService;
+    private boolean loadingPage;
 
     /**
      * Called when the activity is first created.
-     * Initializes the views, sets up the orders spinner, and configures the cancel button listener.
+     * Initializes the views, loads the first page of orders, and configures the cancel button
+     * listener.
      * @param savedInstanceState
      */
     @Override
@@ -34,75 +46,202 @@ public class AllOrdersActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_all_orders);
 
+        orderService = ((MyApplication) getApplicationContext()).getOrderService();
+        ((MyApplication) getApplicationContext()).getImageLoader()
+                .load(findViewById(R.id.OrderHistoryImageView), R.drawable.orderhistoryimage);
         initializeViews();
-        setupOrderSpinner();
+        setupOrderList();
         setupCancelButtonListener();
+        setupReorderButtonListener();
+    }
+
+    /**
+     * Forces the batched cancellation records to disk, in the background, when the activity leaves
+     * the screen.
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+        orderService.sync(new OrderService.Callback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+            }
+            @Override
+            public void onFailure(Exception error) {
+                Log.e(TAG, "Could not sync order history", error);
+            }
+        });
     }
 
     /**
      * Initializes the user interface elements from the XML layout.
-     * Sets up adapters for the ListView and Spinner that will hold the order details and list of orders, respectively.
+     * Sets up the adapter for the ListView that will hold the order details.
      */
     private void initializeViews() {
-        ordersSpinner = findViewById(R.id.ordersSpinner);
+        ordersRecyclerView = findViewById(R.id.ordersRecyclerView);
         orderDetailsListView = findViewById(R.id.orderDetailsListView);
         totalAmountTextView = findViewById(R.id.TotalAmountTextView);
         cancelOrderButton = findViewById(R.id.cancelOrderButton);
-        orderDetailsAdapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_1, new ArrayList<>());
+        reorderButton = findViewById(R.id.reorderButton);
+        orderDetailsAdapter = new ArrayAdapter<>(this, android.R.layout.simple_list_item_1,
+                new ArrayList<>());
         orderDetailsListView.setAdapter(orderDetailsAdapter);
     }
 
     /**
-     * Configures the spinner with the list of all orders. Sets up an onItemSelectedListener to handle selection events.
-     * When an order is selected, its details are displayed in the ListView and the total amount is calculated and displayed.
+     * Configures the RecyclerView that lists the order headers. The first page is loaded now and
+     * further pages are loaded as the user scrolls near the end of the list.
+     * When an order is selected, its details are displayed in the ListView along with its cached
+     * total.
      */
-    private void setupOrderSpinner() {
-        MyApplication appInstance = (MyApplication) getApplicationContext();
-        ArrayList<ArrayList<MenuItem>> allOrders = appInstance.getAllOrders();
-        ArrayList<String> orderNames = new ArrayList<>();
-        for (int i = 0; i < allOrders.size(); i++) {
-            orderNames.add("Order " + (i + 1));
+    private void setupOrderList() {
+        orderHeaderAdapter = new OrderHeaderAdapter(this, this::showOrder);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        ordersRecyclerView.setLayoutManager(layoutManager);
+        ordersRecyclerView.setAdapter(orderHeaderAdapter);
+        ordersRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (!orderHeaderAdapter.isAllLoaded() && layoutManager.findLastVisibleItemPosition()
+                        >= orderHeaderAdapter.getItemCount() - PREFETCH_DISTANCE) {
+                    recyclerView.post(AllOrdersActivity.this::loadNextPage);
+                }
+            }
+        });
+        loadNextPage();
+    }
+
+    /**
+     * Loads the next page of order headers into the list, unless a page is already loading.
+     * Pages are requested after the last order number loaded rather than at an offset, so an order
+     * cancelled while the page loads does not shift the page.
+     */
+    private void loadNextPage() {
+        if (loadingPage || orderHeaderAdapter.isAllLoaded()) {
+            return;
         }
-        orderNamesAdapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, orderNames);
-        ordersSpinner.setAdapter(orderNamesAdapter);
-        ordersSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+        loadingPage = true;
+        int lastOrderNumber = orderHeaderAdapter.getLastLoadedOrderNumber();
+        orderService.loadHeadersAfter(lastOrderNumber, OrderHeaderAdapter.PAGE_SIZE,
+                new OrderService.Callback<List<OrderHeader>>() {
             @Override
-            public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                ArrayList<MenuItem> selectedOrder = allOrders.get(position);
-                ArrayList<String> orderDetails = new ArrayList<>();
-                for (MenuItem item : selectedOrder) {
-                    orderDetails.add(item.toString());}
-                orderDetailsAdapter.clear();
-                orderDetailsAdapter.addAll(orderDetails);
-                orderDetailsAdapter.notifyDataSetChanged();
-                double total = 0.0;
-                for (MenuItem item : selectedOrder) {
-                    total += item.price();}
-                totalAmountTextView.setText(String.format("$%.2f", total));}
+            public void onSuccess(List<OrderHeader> page) {
+                loadingPage = false;
+                if (!isDestroyed()) {
+                    orderHeaderAdapter.appendPage(page);
+                }
+            }
             @Override
-            public void onNothingSelected(AdapterView<?> parent) {
+            public void onFailure(Exception error) {
+                loadingPage = false;
+                Log.e(TAG, "Could not load order history", error);
+                if (!isDestroyed()) {
+                    Toast.makeText(AllOrdersActivity.this, "Could not load order history",
+                            Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads the details of the selected order and displays its lines and total.
+     * The total is cached on the header and shown at once; the lines follow when the order is
+     * loaded.
+     *
+     * @param header the header of the selected order
+     */
+    private void showOrder(OrderHeader header) {
+        orderDetailsAdapter.clear();
+        orderDetailsAdapter.notifyDataSetChanged();
+        totalAmountTextView.setText(Money.format(header.getSubtotalCents()));
+        orderService.loadOrder(header, new OrderService.Callback<PlacedOrder>() {
+            @Override
+            public void onSuccess(PlacedOrder order) {
+                if (isDestroyed() || orderHeaderAdapter.getSelectedHeader() != header) {
+                    return;
+                }
                 orderDetailsAdapter.clear();
+                orderDetailsAdapter.addAll(order.getDescriptions());
                 orderDetailsAdapter.notifyDataSetChanged();
-                totalAmountTextView.setText("$0.00");
-            }});
+            }
+            @Override
+            public void onFailure(Exception error) {
+                Log.e(TAG, "Could not load order " + header.getOrderNumber(), error);
+                if (!isDestroyed()) {
+                    Toast.makeText(AllOrdersActivity.this, "Could not load order",
+                            Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
     }
 
     /**
-     * Sets up the click listener for the cancel order button. Removes the selected order when clicked.
+     * Sets up the click listener for the cancel order button. Removes the selected order when
+     * clicked, once the cancellation has been recorded.
      */
     private void setupCancelButtonListener() {
         cancelOrderButton.setOnClickListener(v -> {
-            int selectedPosition = ordersSpinner.getSelectedItemPosition();
-            if (selectedPosition != AdapterView.INVALID_POSITION) {
-                MyApplication appInstance = (MyApplication) getApplicationContext();
-                ArrayList<ArrayList<MenuItem>> allOrders = appInstance.getAllOrders();
-                allOrders.remove(selectedPosition);
-                orderNamesAdapter.remove(orderNamesAdapter.getItem(selectedPosition));
-                orderNamesAdapter.notifyDataSetChanged();
-                orderDetailsAdapter.clear();
-                orderDetailsAdapter.notifyDataSetChanged();
-                totalAmountTextView.setText("$0.00");
+            OrderHeader selected = orderHeaderAdapter.getSelectedHeader();
+            if (selected == null) {
+                return;
+            }
+            final int orderNumber = selected.getOrderNumber();
+            orderService.cancelOrder(orderNumber, new OrderService.Callback<Void>() {
+                @Override
+                public void onSuccess(Void result) {
+                    if (isDestroyed()) {
+                        return;
+                    }
+                    boolean wasSelected = orderHeaderAdapter.getSelectedHeader() == selected;
+                    orderHeaderAdapter.remove(orderNumber);
+                    if (wasSelected) {
+                        orderDetailsAdapter.clear();
+                        orderDetailsAdapter.notifyDataSetChanged();
+                        totalAmountTextView.setText("$0.00");
+                    }
+                }
+                @Override
+                public void onFailure(Exception error) {
+                    Log.e(TAG, "Could not cancel order", error);
+                    if (!isDestroyed()) {
+                        Toast.makeText(AllOrdersActivity.this, "Could not cancel order",
+                                Toast.LENGTH_SHORT).show();
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Sets up the click listener for the reorder button. Adds every line of the selected order to
+     * the current order in one step, sharing the past order's items and reusing its cached total.
+     * The order is usually already open from showing its details, so it is not read from the log
+     * again.
+     */
+    private void setupReorderButtonListener() {
+        reorderButton.setOnClickListener(v -> {
+            OrderHeader selected = orderHeaderAdapter.getSelectedHeader();
+            if (selected == null) {
+                return;
             }
+            orderService.loadOrder(selected, new OrderService.Callback<PlacedOrder>() {
+                @Override
+                public void onSuccess(PlacedOrder order) {
+                    Order.getInstance().reorder(order);
+                    if (!isDestroyed()) {
+                        Toast.makeText(AllOrdersActivity.this, "Added " + order.getItemCount()
+                                + " items to the current order", Toast.LENGTH_SHORT).show();
+                    }
+                }
+                @Override
+                public void onFailure(Exception error) {
+                    Log.e(TAG, "Could not load order " + selected.getOrderNumber(), error);
+                    if (!isDestroyed()) {
+                        Toast.makeText(AllOrdersActivity.this, "Could not reorder",
+                                Toast.LENGTH_SHORT).show();
+                    }
+                }
+            });
         });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package com.softmeth.project5;
+
+import androidx.annotation.NonNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache bounded by the total size of its values rather than their number,
+ * e.g. the bytes held by decoded bitmaps. When adding a value takes the cache over its limit, the
+ * least recently used values are evicted until it fits again. The cache counts hits, misses, puts
+ * and evictions so its sizing can be checked.
+ * All methods are synchronized on the cache.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ * @author Ridwan Sharkar
+ */
+public class ByteSizedLruCache<K, V>
+{
+    /**
+     * Interface for measuring the size of a cached value.
+     *
+     * @param <V> the type of the cached values
+     */
+    public interface Sizer<V> {
+        long sizeOf(V value);
+    }
+
+    private final LinkedHashMap<K, V> entries;
+    private final Sizer<V> sizer;
+    private long maxBytes;
+    private long sizeBytes;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long rejectedCount;
+    private long evictionCount;
+    private long evictedBytes;
+    /*============================================================================================*/
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param maxBytes the most the cached values may add up to, must be positive
+     * @param sizer    measures the size of each value
+     * @throws IllegalArgumentException if maxBytes is not positive
+     */
+    public ByteSizedLruCache(long maxBytes, Sizer<V> sizer)
+    {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Invalid Cache Size: " + maxBytes);
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.sizer = sizer;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets a cached value and marks it as the most recently used.
+     *
+     * @param key the key of the value
+     * @return the cached value, or null if it is not cached
+     */
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return value;
+    }
+
+    /**
+     * Caches a value, evicting the least recently used values if the cache grows too large.
+     * A value larger than the whole cache is not cached.
+     *
+     * @param key   the key of the value
+     * @param value the value to cache
+     * @return true if the value was cached, false if it was too large
+     */
+    public synchronized boolean put(K key, V value) {
+        long size = sizer.sizeOf(value);
+        if (size > maxBytes) {
+            rejectedCount++;
+            remove(key);
+            return false;
+        }
+        putCount++;
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            sizeBytes -= sizer.sizeOf(previous);
+        }
+        sizeBytes += size;
+        trimTo(maxBytes);
+        return true;
+    }
+
+    /**
+     * Removes a value from the cache. Removals are not counted as evictions.
+     *
+     * @param key the key of the value
+     * @return the removed value, or null if it was not cached
+     */
+    public synchronized V remove(K key) {
+        V removed = entries.remove(key);
+        if (removed != null) {
+            sizeBytes -= sizer.sizeOf(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Evicts the least recently used values until the cache holds at most the given size.
+     *
+     * @param bytes the size to trim the cache to
+     */
+    public synchronized void trimTo(long bytes) {
+        Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+        while (sizeBytes > bytes && it.hasNext()) {
+            long size = sizer.sizeOf(it.next().getValue());
+            it.remove();
+            sizeBytes -= size;
+            evictionCount++;
+            evictedBytes += size;
+        }
+    }
+
+    /**
+     * Evicts every value from the cache.
+     */
+    public synchronized void evictAll() {
+        trimTo(0);
+    }
+
+    /**
+     * Changes the most the cached values may add up to, evicting values if needed.
+     *
+     * @param maxBytes the new limit, must be positive
+     * @throws IllegalArgumentException if maxBytes is not positive
+     */
+    public synchronized void resize(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Invalid Cache Size: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        trimTo(maxBytes);
+    }
+
+    /**
+     * Gets the combined size of the cached values.
+     *
+     * @return the cached size, in bytes
+     */
+    public synchronized long size() {
+        return sizeBytes;
+    }
+
+    /**
+     * Gets the most the cached values may add up to.
+     *
+     * @return the limit, in bytes
+     */
+    public synchronized long maxSize() {
+        return maxBytes;
+    }
+
+    /**
+     * Counts the cached values.
+     *
+     * @return the number of entries
+     */
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Counts the lookups that found a cached value.
+     *
+     * @return the number of hits
+     */
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Counts the lookups that found nothing cached.
+     *
+     * @return the number of misses
+     */
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Counts the values that were cached.
+     *
+     * @return the number of puts
+     */
+    public synchronized long putCount() {
+        return putCount;
+    }
+
+    /**
+     * Counts the values that were not cached because they were larger than the whole cache.
+     *
+     * @return the number of rejected puts
+     */
+    public synchronized long rejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Counts the values evicted to keep the cache within its limit.
+     *
+     * @return the number of evictions
+     */
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Adds up the size of the values evicted to keep the cache within its limit.
+     *
+     * @return the evicted size, in bytes
+     */
+    public synchronized long evictedBytes() {
+        return evictedBytes;
+    }
+
+    /**
+     * Returns a summary of the cache's size and counters.
+     *
+     * @return a string describing the cache
+     */
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        long lookups = hitCount + missCount;
+        int hitPercent = lookups == 0 ? 0 : (int) (100 * hitCount / lookups);
+        return "ByteSizedLruCache[size=" + sizeBytes + "/" + maxBytes + " bytes, entries=" + entries.size()
+                + ", hits=" + hitCount + ", misses=" + missCount + ", hitRate=" + hitPercent + "%"
+                + ", puts=" + putCount + ", rejected=" + rejectedCount
+                + ", evictions=" + evictionCount + ", evictedBytes=" + evictedBytes + "]";
+    }
+}
@@ -1,8 +1,7 @@
 package com.softmeth.project5;
 import android.os.Bundle;
-import android.widget.ArrayAdapter;
+import android.util.Log;
 import android.widget.Button;
-import android.widget.ListView;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -11,26 +10,42 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Activity for managing and displaying the current order.
  * Allows users to view their order details, remove items, and place the final order.
+ * The lines are shown in a RecyclerView that is fed a fresh snapshot after the order changes. The
+ * snapshot is copied and sorted on an OrderService worker, a burst of changes is coalesced into one
+ * snapshot, and the snapshots are diffed off the main thread, so only the rows that changed are rebound.
+ * Placing the order and saving it to the history runs on the OrderService's workers.
  *
  * @author Ridwan Sharkar
  */
 public class CurrentOrderActivity extends AppCompatActivity
 {
+    private static final String TAG = "CurrentOrderActivity";
     private TextView subtotalTextView;
     private TextView taxTextView;
     private TextView totalTextView;
-    private ListView orderListView;
+    private RecyclerView orderRecyclerView;
+    private OrderLineAdapter orderLineAdapter;
     private Button removeSelectedItemButton;
     private Button placeOrderButton;
+    private OrderService orderService;
+    private final AtomicBoolean linesChanged = new AtomicBoolean();
+    private final AtomicBoolean refreshInFlight = new AtomicBoolean();
+    private final Order.OnTotalsChangedListener totalsListener = order -> {
+        linesChanged.set(true);
+        requestRefresh();
+    };
 
     /**
      * Initializes the activity, sets up user interface interactions, and prepares the order display.
@@ -46,26 +61,99 @@ public class CurrentOrderActivity extends AppCompatActivity
             v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
             return insets;
         });
-        orderListView = findViewById(R.id.orderListView);
+        ((MyApplication)getApplication()).getImageLoader()
+                .load(findViewById(R.id.imageView), R.drawable.currentorderpageimage);
+        orderRecyclerView = findViewById(R.id.orderRecyclerView);
         subtotalTextView = findViewById(R.id.subtotalTextView);
         taxTextView = findViewById(R.id.taxTextView);
         totalTextView = findViewById(R.id.totalTextView);
         removeSelectedItemButton = findViewById(R.id.RemoveSelectedItemButton);
         placeOrderButton = findViewById(R.id.PlaceOrderButton);
+        orderService = ((MyApplication)getApplication()).getOrderService();
         Order currentOrder = Order.getInstance();
-        ListView orderListView = findViewById(R.id.orderListView);
-        orderListView.setChoiceMode(ListView.CHOICE_MODE_SINGLE);
-        ArrayAdapter<MenuItem> adapter = new ArrayAdapter<>(this,
-                android.R.layout.simple_list_item_activated_1,
-                currentOrder.getItems());
-        orderListView.setAdapter(adapter);
+        orderLineAdapter = new OrderLineAdapter(this);
+        orderRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        orderRecyclerView.setAdapter(orderLineAdapter);
+        orderLineAdapter.submitList(currentOrder.getLines());
+        currentOrder.addOnTotalsChangedListener(totalsListener);
         updateCosts(subtotalTextView, taxTextView, totalTextView, currentOrder);
-        setupButtonListeners(removeSelectedItemButton, placeOrderButton, currentOrder, adapter);
+        setupButtonListeners(removeSelectedItemButton, placeOrderButton);
+    }
+
+    /**
+     * Forces batched order history records to disk, in the background, when the activity leaves the screen.
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+        orderService.sync(new OrderService.Callback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+            }
+            @Override
+            public void onFailure(Exception error) {
+                Log.e(TAG, "Could not sync order history", error);
+            }
+        });
+    }
+
+    /**
+     * Stops observing the order's totals when the activity is destroyed.
+     * The listener follows the current order across placements, so it is removed from the current one.
+     */
+    @Override
+    protected void onDestroy() {
+        Order.getInstance().removeOnTotalsChangedListener(totalsListener);
+        super.onDestroy();
+    }
+
+    /**
+     * Queues a refresh of the displayed lines and totals, unless one is already in flight.
+     * Only one refresh runs at a time, so snapshots are shown in the order they were taken; changes
+     * made while it runs are picked up by another refresh once it has been shown.
+     */
+    private void requestRefresh() {
+        if (!refreshInFlight.compareAndSet(false, true)) {
+            return;
+        }
+        orderService.submit(() -> {
+            linesChanged.set(false);
+            return Order.getInstance().getLines();
+        }, new OrderService.Callback<List<OrderLine>>() {
+            @Override
+            public void onSuccess(List<OrderLine> lines) {
+                showLines(lines);
+            }
+            @Override
+            public void onFailure(Exception error) {
+                Log.w(TAG, "Could not refresh order lines off the main thread", error);
+                linesChanged.set(false);
+                showLines(Order.getInstance().getLines());
+            }
+        });
+    }
+
+    /**
+     * Shows a snapshot of the order's lines with the current totals, then queues another refresh if
+     * the order changed after the snapshot was taken. Runs on the main thread.
+     *
+     * @param lines The lines of the current order, in the order their items were first added.
+     */
+    private void showLines(List<OrderLine> lines) {
+        refreshInFlight.set(false);
+        if (isDestroyed()) {
+            return;
+        }
+        orderLineAdapter.submitList(lines);
+        updateCosts(subtotalTextView, taxTextView, totalTextView, Order.getInstance());
+        if (linesChanged.get()) {
+            requestRefresh();
+        }
     }
 
     /**
      * Updates the displayed costs for subtotal, tax, and total based on the current order.
-     * Assumes a tax rate of 7%.
+     * Reads the running totals the order maintains, so no items are re-summed.
      *
      * @param subtotalTextView TextView for displaying the subtotal.
      * @param taxTextView TextView for displaying the tax.
@@ -74,48 +162,52 @@ public class CurrentOrderActivity extends AppCompatActivity
      */
     private void updateCosts(TextView subtotalTextView, TextView taxTextView,
                              TextView totalTextView, Order currentOrder) {
-        double subtotal = currentOrder.calculateTotal();
-        double tax = subtotal * 0.07; // Assume a 7% tax rate
-        double total = subtotal + tax;
-
-        subtotalTextView.setText(String.format("$%.2f", subtotal));
-        taxTextView.setText(String.format("$%.2f", tax));
-        totalTextView.setText(String.format("$%.2f", total));
+        subtotalTextView.setText(Money.format(currentOrder.getSubtotalCents()));
+        taxTextView.setText(Money.format(currentOrder.getTaxCents()));
+        totalTextView.setText(Money.format(currentOrder.getTotalCents()));
     }
 
     /**
      * Sets up listeners for the 'Remove Selected Item' and 'Place Order' buttons.
+     * Both act on whichever order is current when the button is pressed; the list and totals are
+     * then refreshed by the order's change notification.
      */
-    private void setupButtonListeners(Button removeSelectedItemButton, Button placeOrderButton,
-                                      Order currentOrder, ArrayAdapter<MenuItem> adapter) {
+    private void setupButtonListeners(Button removeSelectedItemButton, Button placeOrderButton) {
         removeSelectedItemButton.setOnClickListener(v -> {
-            int position = orderListView.getCheckedItemPosition();
-            if (position != ListView.INVALID_POSITION) {
-                MenuItem itemToRemove = adapter.getItem(position);
-                if (itemToRemove != null) {
-                    currentOrder.removeItem(itemToRemove);
-                    adapter.remove(itemToRemove);
-                    adapter.notifyDataSetChanged();
-                    updateCosts(subtotalTextView, taxTextView, totalTextView, currentOrder);
-                }
-                orderListView.setItemChecked(position, false);
+            OrderLine lineToRemove = orderLineAdapter.getSelectedLine();
+            if (lineToRemove != null) {
+                orderLineAdapter.clearSelection();
+                Order.getInstance().removeLine(lineToRemove);
                 Toast.makeText(CurrentOrderActivity.this, "Item removed from order", Toast.LENGTH_SHORT).show();
             } else {
                 Toast.makeText(CurrentOrderActivity.this, "Select an item to remove", Toast.LENGTH_SHORT).show();
             }
         });
         placeOrderButton.setOnClickListener(v -> {
-            if (!currentOrder.getItems().isEmpty()) {
-                ArrayList<MenuItem> orderToSave = new ArrayList<>(currentOrder.getItems());
-                ((MyApplication)getApplication()).getAllOrders().add(orderToSave);
-                currentOrder.resetOrder();
-                adapter.clear();
-                adapter.notifyDataSetChanged();
-                updateCosts(subtotalTextView, taxTextView, totalTextView, currentOrder);
-                Toast.makeText(CurrentOrderActivity.this, "Order placed and saved!", Toast.LENGTH_SHORT).show();
-            } else {
-                Toast.makeText(CurrentOrderActivity.this, "Add items to your order first", Toast.LENGTH_SHORT).show();
-            }
+            placeOrderButton.setEnabled(false);
+            orderService.placeOrder(System.currentTimeMillis(), new OrderService.Callback<PlacedOrder>() {
+                @Override
+                public void onSuccess(PlacedOrder placed) {
+                    if (isDestroyed()) {
+                        return;
+                    }
+                    placeOrderButton.setEnabled(true);
+                    if (placed != null) {
+                        Toast.makeText(CurrentOrderActivity.this, "Order placed and saved!", Toast.LENGTH_SHORT).show();
+                    } else {
+                        Toast.makeText(CurrentOrderActivity.this, "Add items to your order first", Toast.LENGTH_SHORT).show();
+                    }
+                }
+                @Override
+                public void onFailure(Exception error) {
+                    Log.e(TAG, "Could not save order", error);
+                    if (isDestroyed()) {
+                        return;
+                    }
+                    placeOrderButton.setEnabled(true);
+                    Toast.makeText(CurrentOrderActivity.this, "Could not save order", Toast.LENGTH_SHORT).show();
+                }
+            });
         });
     }
 }
\ No newline at end of file
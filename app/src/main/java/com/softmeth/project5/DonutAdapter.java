@@ -7,7 +7,7 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Adapter for displaying donut items in a RecyclerView.
@@ -17,32 +17,69 @@ import java.util.ArrayList;
  */
 class DonutAdapter extends RecyclerView.Adapter<DonutAdapter.DonutViewHolder>
 {
-    private Context context;
-    private ArrayList<DonutItem> items;
-    private OnItemClickListener onItemClickListener;
+    /**
+     * Payload for a rebind that only changes whether the row is highlighted as selected.
+     */
+    static final Object SELECTION_CHANGED = new Object();
+    private final Context context;
+    private final DonutCatalog catalog;
+    private final OnItemClickListener onItemClickListener;
+    private int selectedPosition = RecyclerView.NO_POSITION;
 
     /**
      * Interface for handling item click events.
      */
     public interface OnItemClickListener {
-        void onItemClick(int position);  // Changed to include position parameter
+        void onItemClick(int position);
     }
 
     /**
      * Constructs a new DonutAdapter.
+     * The catalog never changes, so each donut's position doubles as its stable id.
      *
      * @param context the UI context in which the adapter operates, used to inflate layouts.
-     * @param items the list of DonutItem objects to be displayed.
+     * @param catalog the catalog of donuts to be displayed.
      * @param listener the listener that handles item click events.
      */
-    public DonutAdapter(Context context, ArrayList<DonutItem> items, OnItemClickListener listener) {
+    public DonutAdapter(Context context, DonutCatalog catalog, OnItemClickListener listener) {
         this.context = context;
-        this.items = items;
-        this.onItemClickListener = listener;  // Set listener via constructor
+        this.catalog = catalog;
+        this.onItemClickListener = listener;
+        setHasStableIds(true);
+    }
+
+    /**
+     * Gets the position of the selected donut.
+     *
+     * @return the selected position, or RecyclerView.NO_POSITION if no donut is selected
+     */
+    public int getSelectedPosition() {
+        return selectedPosition;
+    }
+
+    /**
+     * Highlights the donut at the given position, rebinding only the rows whose highlight changes.
+     *
+     * @param position the position to select, or RecyclerView.NO_POSITION to clear the selection
+     */
+    public void setSelectedPosition(int position) {
+        int previous = selectedPosition;
+        if (previous == position) {
+            return;
+        }
+        selectedPosition = position;
+        if (previous != RecyclerView.NO_POSITION) {
+            notifyItemChanged(previous, SELECTION_CHANGED);
+        }
+        if (position != RecyclerView.NO_POSITION) {
+            notifyItemChanged(position, SELECTION_CHANGED);
+        }
     }
 
     /**
      * Inflates the item layout and creates a new ViewHolder.
+     * The click listener is created once here, per ViewHolder, and reads the holder's current
+     * position when clicked, so binding allocates nothing and positions never go stale.
      *
      * @param parent the ViewGroup into which the new view will be added after it is bound to an adapter position.
      * @param viewType the view type of the new View.
@@ -52,7 +89,18 @@ class DonutAdapter extends RecyclerView.Adapter<DonutAdapter.DonutViewHolder>
     @Override
     public DonutViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(context).inflate(R.layout.row_view, parent, false);
-        return new DonutViewHolder(view);
+        DonutViewHolder holder = new DonutViewHolder(view);
+        view.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            setSelectedPosition(position);
+            if (onItemClickListener != null) {
+                onItemClickListener.onItemClick(position);
+            }
+        });
+        return holder;
     }
 
     /**
@@ -63,35 +111,65 @@ class DonutAdapter extends RecyclerView.Adapter<DonutAdapter.DonutViewHolder>
      */
     @Override
     public void onBindViewHolder(@NonNull DonutViewHolder holder, int position) {
-        DonutItem item = items.get(position);
+        DonutCatalog.Entry item = catalog.get(position);
         holder.tvName.setText(item.getName());
-        holder.tvPrice.setText(item.getPrice());
-        holder.itemView.setOnClickListener(v -> {
-            if (onItemClickListener != null) {
-                onItemClickListener.onItemClick(position);  // Pass position on click
+        holder.tvPrice.setText(item.getPriceLabel());
+        holder.itemView.setActivated(position == selectedPosition);
+    }
+
+    /**
+     * Rebinds only the selection highlight when every payload is a selection change, and falls
+     * back to a full bind otherwise.
+     *
+     * @param holder the ViewHolder which should be updated.
+     * @param position the position of the item within the adapter's data set.
+     * @param payloads the payloads passed to notifyItemChanged, empty for a full bind.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull DonutViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        for (int i = 0, n = payloads.size(); i < n; i++) {
+            if (payloads.get(i) != SELECTION_CHANGED) {
+                onBindViewHolder(holder, position);
+                return;
             }
-        });
+        }
+        holder.itemView.setActivated(position == selectedPosition);
+    }
+
+    /**
+     * Returns the stable id of the donut at the given position.
+     *
+     * @param position the position of the item within the adapter's data set.
+     * @return the donut's position in the catalog
+     */
+    @Override
+    public long getItemId(int position) {
+        return position;
     }
 
     /**
      * Returns the total number of items in the data set held by the adapter.
      *
-     * @return the size of the items list
+     * @return the number of donuts in the catalog
      */
     @Override
     public int getItemCount() {
-        return items.size();
+        return catalog.size();
     }
 
     /**
      * A ViewHolder describes an item view and metadata about its place within the RecyclerView.
      */
     public static class DonutViewHolder extends RecyclerView.ViewHolder {
-        TextView tvName, tvPrice;
+        final TextView tvName, tvPrice;
         public DonutViewHolder(@NonNull View itemView) {
             super(itemView);
             tvName = itemView.findViewById(R.id.tv_name);
             tvPrice = itemView.findViewById(R.id.tv_price);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package com.softmeth.project5;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import androidx.annotation.DrawableRes;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads drawable artwork into ImageViews off the main thread.
+ * Each image is decoded downsampled to the size of the view it is shown in, and decoded bitmaps
+ * are kept in an LRU cache sized by bytes, so picking the same donut again does not decode it again.
+ * If a view is given a new image before the previous one finished decoding, the stale result is dropped.
+ *
+ * @author Ridwan Sharkar
+ */
+public class ImageLoader
+{
+    private static final String TAG = "ImageLoader";
+    private static final int DECODE_THREADS = 2;
+    private static final int CACHE_FRACTION_OF_HEAP = 8;
+    private final Resources resources;
+    private final ByteSizedLruCache<String, Bitmap> cache;
+    private final ExecutorService decodeExecutor;
+    private final Handler mainHandler;
+    /*============================================================================================*/
+
+    /**
+     * Constructs an ImageLoader whose cache may use an eighth of the app's heap.
+     *
+     * @param resources the resources to decode drawables from
+     */
+    public ImageLoader(Resources resources)
+    {
+        this.resources = resources;
+        this.cache = new ByteSizedLruCache<>(Runtime.getRuntime().maxMemory() / CACHE_FRACTION_OF_HEAP,
+                Bitmap::getAllocationByteCount);
+        this.decodeExecutor = Executors.newFixedThreadPool(DECODE_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.mainHandler = new Handler(Looper.getMainLooper());
+    }
+
+    /**
+     * Shows a drawable in an ImageView, decoded no larger than the view needs.
+     * A cached bitmap is shown immediately; otherwise the drawable is decoded in the background.
+     * Must be called on the main thread.
+     *
+     * @param view  the view to show the image in
+     * @param resId the drawable to show
+     */
+    public void load(final ImageView view, @DrawableRes final int resId) {
+        DisplayMetrics display = resources.getDisplayMetrics();
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        int targetWidth = targetDimension(view.getWidth(), params == null ? 0 : params.width, display.widthPixels);
+        int targetHeight = targetDimension(view.getHeight(), params == null ? 0 : params.height, display.heightPixels);
+        if (targetWidth <= 0 && targetHeight <= 0) {
+            targetWidth = display.widthPixels;
+            targetHeight = display.heightPixels;
+        }
+        final String key = resId + ":" + targetWidth + "x" + targetHeight;
+        view.setTag(key);
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            view.setImageBitmap(cached);
+            return;
+        }
+        final int width = targetWidth;
+        final int height = targetHeight;
+        decodeExecutor.execute(() -> {
+            Bitmap bitmap = decode(resId, width, height);
+            if (bitmap == null) {
+                return;
+            }
+            cache.put(key, bitmap);
+            mainHandler.post(() -> {
+                if (key.equals(view.getTag())) {
+                    view.setImageBitmap(bitmap);
+                }
+            });
+        });
+    }
+
+    /**
+     * Releases cached bitmaps when the system is low on memory.
+     *
+     * @param level the trim level passed to ComponentCallbacks2.onTrimMemory
+     */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE) {
+            cache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            cache.trimTo(cache.maxSize() / 2);
+        }
+        Log.d(TAG, "Trimmed for level " + level + ": " + cache);
+    }
+
+    /**
+     * Gets the bitmap cache, e.g. to read its hit and eviction counters.
+     *
+     * @return the bitmap cache
+     */
+    public ByteSizedLruCache<String, Bitmap> getCache() {
+        return cache;
+    }
+
+    /**
+     * Decodes a drawable, first reading only its bounds to pick a sample size.
+     * Density scaling is turned off: the artwork is in the mdpi drawable folder, so decodeResource()
+     * would otherwise scale the sampled bitmap up by the screen density, e.g. 3x per side on an
+     * xxhdpi screen, undoing the downsampling. The decoded size is checked against ImageSizing.
+     */
+    private Bitmap decode(@DrawableRes int resId, int targetWidth, int targetHeight) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inScaled = false;
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, resId, options);
+        int sourceWidth = options.outWidth;
+        int sourceHeight = options.outHeight;
+        options.inSampleSize = ImageSizing.calculateInSampleSize(sourceWidth, sourceHeight,
+                targetWidth, targetHeight);
+        options.inJustDecodeBounds = false;
+        Bitmap bitmap = BitmapFactory.decodeResource(resources, resId, options);
+        if (bitmap == null) {
+            Log.e(TAG, "Could not decode drawable " + resId);
+        } else if (!ImageSizing.isSampledSize(sourceWidth, sourceHeight, options.inSampleSize,
+                bitmap.getWidth(), bitmap.getHeight())) {
+            Log.w(TAG, "Drawable " + resId + " decoded at " + bitmap.getWidth() + "x" + bitmap.getHeight()
+                    + ", expected " + sourceWidth + "x" + sourceHeight + " sampled by " + options.inSampleSize);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Picks the size to decode for along one dimension: the measured size if the view has been laid
+     * out, else a fixed size from its layout parameters, the screen for match_parent, or 0 (no
+     * constraint) for wrap_content.
+     */
+    private static int targetDimension(int measured, int layoutParam, int screen) {
+        if (measured > 0) {
+            return measured;
+        }
+        if (layoutParam > 0) {
+            return layoutParam;
+        }
+        return layoutParam == ViewGroup.LayoutParams.MATCH_PARENT ? screen : 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.softmeth.project5;
+
+/**
+ * Works out how far a bitmap can be downsampled while decoding so that it still covers the view it
+ * is shown in. The artwork is stored far larger than it is displayed, so decoding it at a reduced
+ * sample size saves both decode time and memory.
+ *
+ * @author Ridwan Sharkar
+ */
+public final class ImageSizing
+{
+    private ImageSizing() {
+    }
+
+    /**
+     * Calculates the largest power-of-two sample size at which the decoded image is still at least
+     * as large as the target in every constrained dimension. A target dimension of zero or less
+     * leaves that dimension unconstrained.
+     *
+     * @param sourceWidth  the width of the encoded image, in pixels
+     * @param sourceHeight the height of the encoded image, in pixels
+     * @param targetWidth  the width the image is displayed at, in pixels, or 0 if unconstrained
+     * @param targetHeight the height the image is displayed at, in pixels, or 0 if unconstrained
+     * @return the sample size to decode with; 1 means full resolution
+     */
+    public static int calculateInSampleSize(int sourceWidth, int sourceHeight, int targetWidth, int targetHeight) {
+        if (targetWidth <= 0 && targetHeight <= 0) {
+            return 1;
+        }
+        int sampleSize = 1;
+        while (fits(sourceWidth / (sampleSize * 2), targetWidth)
+                && fits(sourceHeight / (sampleSize * 2), targetHeight)) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Calculates one dimension of an image decoded at the given sample size.
+     * The decoder rounds partial samples up, so a 5 pixel edge sampled by 2 decodes to 3 pixels.
+     *
+     * @param sourceDimension the dimension of the encoded image, in pixels
+     * @param sampleSize      the sample size the image is decoded with
+     * @return the decoded dimension, in pixels
+     */
+    public static int sampledDimension(int sourceDimension, int sampleSize) {
+        return (sourceDimension + sampleSize - 1) / sampleSize;
+    }
+
+    /**
+     * Checks that a decoded bitmap has the size the sample size should produce. Decoders differ in
+     * whether they round a partial sample up or down, so either is accepted; anything else, such as
+     * a bitmap that was also scaled for the screen density, is not.
+     *
+     * @param sourceWidth   the width of the encoded image, in pixels
+     * @param sourceHeight  the height of the encoded image, in pixels
+     * @param sampleSize    the sample size the image was decoded with
+     * @param decodedWidth  the width of the decoded bitmap, in pixels
+     * @param decodedHeight the height of the decoded bitmap, in pixels
+     * @return true if the decoded size matches the sampled source size
+     */
+    public static boolean isSampledSize(int sourceWidth, int sourceHeight, int sampleSize,
+                                        int decodedWidth, int decodedHeight) {
+        return isSampledDimension(sourceWidth, sampleSize, decodedWidth)
+                && isSampledDimension(sourceHeight, sampleSize, decodedHeight);
+    }
+
+    /**
+     * Estimates the memory a decoded bitmap occupies.
+     *
+     * @param sourceWidth   the width of the encoded image, in pixels
+     * @param sourceHeight  the height of the encoded image, in pixels
+     * @param sampleSize    the sample size the image is decoded with
+     * @param bytesPerPixel the bytes per pixel of the decoded format, e.g. 4 for ARGB_8888
+     * @return the size of the decoded pixels, in bytes
+     */
+    public static long decodedByteCount(int sourceWidth, int sourceHeight, int sampleSize, int bytesPerPixel) {
+        return (long) sampledDimension(sourceWidth, sampleSize)
+                * sampledDimension(sourceHeight, sampleSize) * bytesPerPixel;
+    }
+
+    private static boolean isSampledDimension(int source, int sampleSize, int decoded) {
+        return decoded == sampledDimension(source, sampleSize) || decoded == source / sampleSize;
+    }
+
+    private static boolean fits(int sampled, int target) {
+        return target <= 0 ? sampled > 0 : sampled >= target;
+    }
+}
@@ -21,7 +21,9 @@ public class MainActivity extends AppCompatActivity
     {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+        ImageLoader imageLoader = ((MyApplication) getApplication()).getImageLoader();
         ImageView orderCoffeeImageView = findViewById(R.id.OrderCoffeeImageView);
+        imageLoader.load(orderCoffeeImageView, R.drawable.ordercoffeeimage);
         orderCoffeeImageView.setOnClickListener(new View.OnClickListener()
         {
             @Override
@@ -32,6 +34,7 @@ public class MainActivity extends AppCompatActivity
             }
         });
         ImageView OrderDonutImageView = findViewById(R.id.OrderDonutImageView);
+        imageLoader.load(OrderDonutImageView, R.drawable.orderdonutimage);
         OrderDonutImageView.setOnClickListener(new View.OnClickListener() {
             @Override
             public void onClick(View v)
@@ -41,6 +44,7 @@ public class MainActivity extends AppCompatActivity
             }
         });
         ImageView OrderSandwichImageView = findViewById(R.id.OrderSandwichImageView);
+        imageLoader.load(OrderSandwichImageView, R.drawable.ordersandwichimage);
         OrderSandwichImageView.setOnClickListener(new View.OnClickListener()
         {
             @Override
@@ -51,6 +55,7 @@ public class MainActivity extends AppCompatActivity
             }
         });
         ImageView CurrentOrderImageView = findViewById(R.id.CurrentOrderImageView);
+        imageLoader.load(CurrentOrderImageView, R.drawable.currentorderimage);
         CurrentOrderImageView.setOnClickListener(new View.OnClickListener()
         {
             @Override
@@ -61,6 +66,7 @@ public class MainActivity extends AppCompatActivity
             }
         });
         ImageView AllOrdersImageView = findViewById(R.id.AllOrdersImageView);
+        imageLoader.load(AllOrdersImageView, R.drawable.allordersimage);
         AllOrdersImageView.setOnClickListener(new View.OnClickListener()
         {
             @Override
@@ -70,6 +76,7 @@ public class MainActivity extends AppCompatActivity
                 startActivity(intent);
             }
         });
+        imageLoader.load(findViewById(R.id.IconImageView), R.drawable.icon);
     }
 
     /**
@@ -1,24 +1,162 @@
 package com.softmeth.project5;
 import android.app.Application;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * Extends the Android Application class to store all the orders made during the app's lifecycle.
+ * Extends the Android Application class to keep the history of all orders made with the app.
+ * The history is persisted to an append-only log in the app's private files directory, so placed
+ * orders survive the process being killed. Placing, cancelling and loading orders runs on the
+ * OrderService's worker threads, which deliver their results back on the main thread. Sales
+ * counters for reports are kept up to date as orders are placed and cancelled, after being rebuilt
+ * from the log in the background at startup. Latencies of the ordering hot paths are recorded in
+ * the default MetricsRegistry and dumped to a JSON file whenever the app is asked to trim memory.
  *
  * @author Ridwan Sharkar
  */
 public class MyApplication extends Application {
 
-    private ArrayList<ArrayList<MenuItem>> allOrders = new ArrayList<>();
+    private static final String TAG = "MyApplication";
+    private static final String ORDER_LOG_FILE = "orders.log";
+    private static final String METRICS_FILE = "metrics.json";
+    private static final int ORDER_WORKER_THREADS = 2;
+    private static final int ORDER_QUEUE_CAPACITY = 32;
+    private AggregatingOrderHistory orderHistory;
+    private OrderService orderService;
+    private ImageLoader imageLoader;
+    private DonutCatalog donutCatalog;
 
     /**
-     * Retrieves a list of all orders stored in the application.
-     * Each order is represented as an ArrayList of MenuItem objects, which contain details about each ordered item.
+     * Opens the order log and makes sure new orders are numbered after the ones already logged.
+     * Falls back to an in-memory history if the log cannot be opened.
+     */
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        MetricsRegistry.getDefault().setEnabled(true);
+        imageLoader = new ImageLoader(getResources());
+        donutCatalog = loadDonutCatalog(getResources());
+        OrderHistoryStore history;
+        try {
+            OrderLog log = new OrderLog(new File(getFilesDir(), ORDER_LOG_FILE));
+            Order.reserveOrderNumbersThrough(log.getLastOrderNumber());
+            history = new OrderHistory(log);
+        } catch (IOException e) {
+            Log.e(TAG, "Could not open order log, history will not be saved", e);
+            history = new ColumnarOrderHistory();
+        }
+        orderHistory = new AggregatingOrderHistory(history);
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        orderService = new OrderService(orderHistory, ORDER_WORKER_THREADS, ORDER_QUEUE_CAPACITY,
+                mainHandler::post);
+        orderService.submit(() -> {
+            orderHistory.rebuildSales(ForkJoinPool.commonPool());
+            return orderHistory.getSales();
+        }, new OrderService.Callback<SalesAggregator>() {
+            @Override
+            public void onSuccess(SalesAggregator sales) {
+                Log.d(TAG, "Rebuilt " + sales);
+            }
+            @Override
+            public void onFailure(Exception error) {
+                Log.e(TAG, "Could not rebuild sales counters", error);
+            }
+        });
+    }
+
+    /**
+     * Retrieves the history of all orders placed with the app.
+     *
+     * @return the order history
+     */
+    public OrderHistoryStore getOrderHistory() {
+        return orderHistory;
+    }
+
+    /**
+     * Retrieves the sales counters over the order history, e.g. revenue per item type or top donut flavors.
+     *
+     * @return the sales aggregator
+     */
+    public SalesAggregator getSales() {
+        return orderHistory.getSales();
+    }
+
+    /**
+     * Retrieves the service that places, cancels and loads orders off the main thread.
+     *
+     * @return the order service
+     */
+    public OrderService getOrderService() {
+        return orderService;
+    }
+
+    /**
+     * Retrieves the loader that decodes and caches the app's artwork.
+     *
+     * @return the image loader
+     */
+    public ImageLoader getImageLoader() {
+        return imageLoader;
+    }
+
+    /**
+     * Retrieves the donuts offered on the donut menu.
+     *
+     * @return the donut catalog
+     */
+    public DonutCatalog getDonutCatalog() {
+        return donutCatalog;
+    }
+
+    /**
+     * Releases cached artwork when the system asks the app to trim its memory, and dumps the
+     * hot-path metrics to the app's files directory in the background.
+     *
+     * @param level the trim level
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        imageLoader.trimMemory(level);
+        Log.d(TAG, orderService.toString());
+        final File metricsFile = new File(getFilesDir(), METRICS_FILE);
+        orderService.submit(() -> {
+            MetricsRegistry.getDefault().writeTo(metricsFile, true);
+            return metricsFile;
+        }, new OrderService.Callback<File>() {
+            @Override
+            public void onSuccess(File file) {
+                Log.d(TAG, "Wrote metrics to " + file);
+            }
+            @Override
+            public void onFailure(Exception error) {
+                Log.e(TAG, "Could not write metrics", error);
+            }
+        });
+    }
+
+    /**
+     * Builds the donut catalog from the menu's string and drawable arrays.
      *
-     * @return the list containing all the orders.
+     * @param resources the app's resources
+     * @return the donut catalog
      */
-    public ArrayList<ArrayList<MenuItem>> getAllOrders() {
-        return allOrders;
+    private static DonutCatalog loadDonutCatalog(Resources resources) {
+        TypedArray images = resources.obtainTypedArray(R.array.donutImages);
+        int[] drawableRes = new int[images.length()];
+        for (int i = 0; i < drawableRes.length; i++) {
+            drawableRes[i] = images.getResourceId(i, 0);
+        }
+        images.recycle();
+        return new DonutCatalog(resources.getStringArray(R.array.itemNames),
+                resources.getStringArray(R.array.donut_types), drawableRes);
     }
-}
\ No newline at end of file
+}
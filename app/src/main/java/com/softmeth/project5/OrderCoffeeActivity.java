@@ -25,6 +25,7 @@ import androidx.core.view.WindowInsetsCompat;
  */
 public class OrderCoffeeActivity extends AppCompatActivity
 {
+    private static final MetricsRegistry.Histogram UPDATE_SUBTOTAL_NANOS = MetricsRegistry.getDefault().histogram("coffee.updateSubtotal");
     private CheckBox FrenchVanillaCheckBox;
     private CheckBox SweetCreamCheckBox;
     private CheckBox IrishCreamCheckBox;
@@ -153,27 +154,29 @@ public class OrderCoffeeActivity extends AppCompatActivity
 
     /**
      * Updates the displayed subtotal for the coffee order based on current selections.
+     * The time taken is recorded under "coffee.updateSubtotal".
      *
      * @param subTotalTextView The TextView to display the subtotal.
      */
     private void updateSubtotal(TextView subTotalTextView)
     {
-        double subtotal = calculateSubtotal();
-        this.subTotalTextView.setText(String.format("$%.2f", subtotal));
+        long start = UPDATE_SUBTOTAL_NANOS.start();
+        long subtotalCents = calculateSubtotalCents();
+        this.subTotalTextView.setText(Money.format(subtotalCents));
+        UPDATE_SUBTOTAL_NANOS.stop(start);
     }
 
     /**
-     * Calculates the subtotal based on selected coffee size, quantity, and add-ons.
+     * Calculates the subtotal in cents based on selected coffee size, quantity, and add-ons.
+     * The unit price comes from Coffee's price table, so no Coffee is built per selection change.
      *
-     * @return The calculated subtotal.
+     * @return The calculated subtotal, in cents.
      */
-    private double calculateSubtotal()
+    private long calculateSubtotalCents()
     {
-        String selectedSize = cupSizeSpinner.getSelectedItem().toString();
+        int cupSizeIndex = cupSizeSpinner.getSelectedItemPosition(); // R.array.cup_sizes lists sizes smallest first
         int selectedQuantity = Integer.parseInt(quantitySpinner.getSelectedItem().toString());
-        Coffee coffeeOrder = new Coffee(selectedSize, countSelectedAddons());
-        double priceForOne = coffeeOrder.price();
-        return priceForOne * selectedQuantity;
+        return Coffee.lookupPriceCents(cupSizeIndex, countSelectedAddons()) * selectedQuantity;
     }
 
     /**
@@ -214,10 +217,10 @@ public class OrderCoffeeActivity extends AppCompatActivity
         String selectedSize = cupSizeSpinner.getSelectedItem().toString();
         int selectedQuantity = Integer.parseInt(quantitySpinner.getSelectedItem().toString());
         int addonCount = countSelectedAddons();
-        Coffee newCoffee = new Coffee(selectedSize, addonCount);
+        Coffee newCoffee = MenuItems.coffee(selectedSize, addonCount);
 
         Order currentOrder = Order.getInstance();
-        for (int i = 0; i < selectedQuantity; i++) { currentOrder.addItem(newCoffee); }
+        currentOrder.addItem(newCoffee, selectedQuantity);
         Toast.makeText(this, "Coffee added to order!", Toast.LENGTH_SHORT).show();
     }
 }
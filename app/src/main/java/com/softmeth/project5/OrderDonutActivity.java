@@ -12,7 +12,6 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
-import java.util.ArrayList;
 import android.widget.ImageView;
 
 /**
@@ -23,13 +22,15 @@ import android.widget.ImageView;
  */
 public class OrderDonutActivity extends AppCompatActivity
 {
+    private static final MetricsRegistry.Histogram UPDATE_SUBTOTAL_NANOS = MetricsRegistry.getDefault().histogram("donut.updateSubtotal");
     private Spinner QuantityDonutSpinner;
     private TextView SubtotalDonutTextView;
     private Button AddToOrderDonutButton;
     private RecyclerView recyclerView;
     private DonutAdapter adapter;
-    private ArrayList<DonutItem> donuts;
+    private DonutCatalog donuts;
     private ImageView DonutImageView;
+    private ImageLoader imageLoader;
     private int lastSelectedIndex = -1;
 
     /**
@@ -43,6 +44,8 @@ public class OrderDonutActivity extends AppCompatActivity
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_order_donut);
         DonutImageView = findViewById(R.id.DonutImageView);
+        imageLoader = ((MyApplication) getApplication()).getImageLoader();
+        imageLoader.load(DonutImageView, R.drawable.donutimage);
         QuantityDonutSpinner = findViewById(R.id.QuantityDonutSpinner);
         SubtotalDonutTextView = findViewById(R.id.SubtotalDonutTextView);
         AddToOrderDonutButton = findViewById(R.id.AddToOrderDonutButton);
@@ -68,8 +71,7 @@ public class OrderDonutActivity extends AppCompatActivity
             }
         });
         recyclerView = findViewById(R.id.recyclerView);
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
-        initializeDonuts();
+        donuts = ((MyApplication) getApplication()).getDonutCatalog();
 
         adapter = new DonutAdapter(this, donuts, new DonutAdapter.OnItemClickListener() {
             @Override
@@ -83,19 +85,6 @@ public class OrderDonutActivity extends AppCompatActivity
         recyclerView.setAdapter(adapter);
     }
 
-    /**
-     * Initializes donut items to be displayed in the RecyclerView.
-     */
-    private void initializeDonuts() {
-        String[] itemNames = getResources().getStringArray(R.array.itemNames);
-        donuts = new ArrayList<>();
-
-        for (String itemName : itemNames) {
-            String price = getPriceBasedOnFlavors(itemName); // You'll need to implement this method.
-            donuts.add(new DonutItem(itemName, price));
-        }
-    }
-
     /**
      * Displays a confirmation dialog to the user to confirm the addition of the sandwich to their order
      */
@@ -115,87 +104,30 @@ public class OrderDonutActivity extends AppCompatActivity
         dialog.show();
     }
 
-    /**
-     * Determines the price of donuts based on their flavors.
-     *
-     * @param flavor The flavor of the donut.
-     * @return A string representing the price.
-     */
-    private String getPriceBasedOnFlavors(String flavor) {
-        if (flavor.contains("Yeast")) {
-            return "$1.79";
-        } else if (flavor.contains("Cake")) {
-            return "$1.89";
-        } else if (flavor.contains("Donut Hole")) {
-            return "$0.39";
-        } else {
-            return "$0.00";
-        }
-    }
-
     /**
      * Updates the subtotal displayed based on the selected donut and quantity.
+     * The time taken is recorded under "donut.updateSubtotal".
      */
     private void updateSubtotal() {
         if (lastSelectedIndex == -1 || QuantityDonutSpinner.getSelectedItem() == null) return; // Ensure valid selection
+        long start = UPDATE_SUBTOTAL_NANOS.start();
         try {
-            double price = getPriceBasedOnFlavor(donuts.get(lastSelectedIndex).getName());
             int quantity = Integer.parseInt(QuantityDonutSpinner.getSelectedItem().toString());
-            double subtotal = price * quantity;
-            SubtotalDonutTextView.setText(String.format("$%.2f", subtotal));
+            SubtotalDonutTextView.setText(Money.format(donuts.get(lastSelectedIndex).getPriceCents() * quantity));
         } catch (NumberFormatException e) {
             Toast.makeText(this, "Error calculating subtotal", Toast.LENGTH_SHORT).show();
         }
+        UPDATE_SUBTOTAL_NANOS.stop(start);
     }
 
     /**
-     * Retrieves the price of a donut based on its flavor.
-     *
-     * @param flavor The flavor of the donut.
-     * @return The price as a double.
-     */
-    private double getPriceBasedOnFlavor(String flavor) {
-        String priceStr = null;
-        if (flavor.contains("Yeast")) {
-            priceStr = "1.79";
-        } else if (flavor.contains("Cake")) {
-            priceStr = "1.89";
-        } else if (flavor.contains("Donut Hole")) {
-            priceStr = "0.39";
-        }
-        return Double.parseDouble(priceStr);
-    }
-
-    /**
-     * Crude method to update the image view to reflect the selected donut type.
+     * Updates the image view to reflect the selected donut type.
+     * The image is decoded off the main thread at the view's size and cached for later selections.
      *
      * @param position The position of the selected donut in the adapter.
      */
     private void updateImageView(int position) {
-        if (position == 0) {
-            DonutImageView.setImageResource(R.drawable.strawberryyeast);}
-        else if (position == 1) {
-            DonutImageView.setImageResource(R.drawable.glazedyeast);}
-        else if (position == 2) {
-            DonutImageView.setImageResource(R.drawable.caramelyeast);}
-        else if (position == 3) {
-            DonutImageView.setImageResource(R.drawable.cinnamonyeast);}
-        else if (position == 4) {
-            DonutImageView.setImageResource(R.drawable.coconutyeast);}
-        else if (position == 5) {
-            DonutImageView.setImageResource(R.drawable.mintyeast);}
-        else if (position == 6) {
-            DonutImageView.setImageResource(R.drawable.mochacake);}
-        else if (position == 7) {
-            DonutImageView.setImageResource(R.drawable.chaicake);}
-        else if (position == 8) {
-            DonutImageView.setImageResource(R.drawable.matchacake);}
-        else if (position == 9) {
-            DonutImageView.setImageResource(R.drawable.powdereddonuthole);}
-        else if (position == 10) {
-            DonutImageView.setImageResource(R.drawable.blueberrydonuthole);}
-        else if (position == 11) {
-            DonutImageView.setImageResource(R.drawable.lemondonuthole);}
+        imageLoader.load(DonutImageView, donuts.get(position).getDrawableRes());
     }
 
     /**
@@ -207,52 +139,9 @@ public class OrderDonutActivity extends AppCompatActivity
             return;
         }
         int quantity = Integer.parseInt(QuantityDonutSpinner.getSelectedItem().toString());
-        DonutItem selectedDonut = donuts.get(lastSelectedIndex);
-        String donutType = getDonutTypeAsString(selectedDonut.getName());
-        String donutFlavor = getDonutFlavorAsString(selectedDonut.getName());
+        DonutCatalog.Entry selectedDonut = donuts.get(lastSelectedIndex);
         Order currentOrder = Order.getInstance();
-        for (int i = 0; i < quantity; i++) {
-            Donut donut = new Donut(donutType, donutFlavor);
-            currentOrder.addItem(donut);
-        }
+        currentOrder.addItem(selectedDonut.getDonut(), quantity);
         Toast.makeText(this, quantity + " " + selectedDonut.getName() + " added to order!", Toast.LENGTH_SHORT).show();
     }
-
-    /**
-     * Converts the donut name into a string representing its type.
-     * This method checks if the donut name contains specific keywords to determine the type.
-     *
-     * @param name includes the type and flavor.
-     * @return A string that represents the donut type.
-     */
-    private String getDonutTypeAsString(String name) {
-        if (name.contains("Yeast")) {
-            return "YEAST";
-        } else if (name.contains("Cake")) {
-            return "CAKE";
-        } else if (name.contains("Donut Hole")) {
-            return "DONUT_HOLE";
-        } else {
-            return "UNKNOWN";
-        }
-    }
-
-    /**
-     * Converts the full name of the donut into a string suitable for processing
-     *
-     * @param name The full name of the donut.
-     * @return A formatted version of the name
-     */
-    private String getDonutFlavorAsString(String name) {
-        return name.toUpperCase().replace(" ", "_");
-    }
 }
-
-
-
-
-
-
-
-
-
@@ -0,0 +1,186 @@
+package com.softmeth.project5;
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapter for browsing the order history in a RecyclerView.
+ * Order headers are fetched from the order history a page at a time as the user scrolls, so opening
+ * the history only touches the first page no matter how many orders have been placed. The pages are
+ * loaded by the activity through the OrderService and appended here on the main thread.
+ * Each row is labelled with its order number, so labels stay the same when other orders are cancelled.
+ *
+ * @author Ridwan Sharkar
+ */
+class OrderHeaderAdapter extends RecyclerView.Adapter<OrderHeaderAdapter.HeaderViewHolder>
+{
+    /**
+     * Number of headers fetched from the history at a time.
+     */
+    static final int PAGE_SIZE = 20;
+    private final Context context;
+    private final OnHeaderClickListener onHeaderClickListener;
+    private final List<OrderHeader> headers = new ArrayList<>();
+    private int lastLoadedOrderNumber;
+    private boolean allLoaded;
+    private int selectedPosition = RecyclerView.NO_POSITION;
+
+    /**
+     * Interface for handling clicks on an order header.
+     */
+    public interface OnHeaderClickListener {
+        void onHeaderClick(OrderHeader header);
+    }
+
+    /**
+     * Constructs a new OrderHeaderAdapter with no headers.
+     *
+     * @param context the UI context in which the adapter operates, used to inflate layouts.
+     * @param listener the listener that handles header click events.
+     */
+    public OrderHeaderAdapter(Context context, OnHeaderClickListener listener) {
+        this.context = context;
+        this.onHeaderClickListener = listener;
+    }
+
+    /**
+     * Appends a page of headers loaded from the history after getLastLoadedOrderNumber().
+     * A page shorter than PAGE_SIZE marks the end of the history.
+     *
+     * @param page the headers that were loaded
+     */
+    public void appendPage(List<OrderHeader> page) {
+        if (allLoaded) {
+            return;
+        }
+        allLoaded = page.size() < PAGE_SIZE;
+        if (!page.isEmpty()) {
+            lastLoadedOrderNumber = page.get(page.size() - 1).getOrderNumber();
+        }
+        int start = headers.size();
+        headers.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
+    /**
+     * Gets the number of the last order in the pages loaded so far, the cursor for the next page.
+     * Removing a header does not move it back, so the next page starts after the same order.
+     *
+     * @return the last loaded order number, or 0 if no page has been loaded
+     */
+    public int getLastLoadedOrderNumber() {
+        return lastLoadedOrderNumber;
+    }
+
+    /**
+     * Checks whether every header in the history has been loaded.
+     *
+     * @return true if there are no more pages to load
+     */
+    public boolean isAllLoaded() {
+        return allLoaded;
+    }
+
+    /**
+     * Gets the header of the selected order.
+     *
+     * @return the selected header, or null if no order is selected
+     */
+    public OrderHeader getSelectedHeader() {
+        return selectedPosition == RecyclerView.NO_POSITION ? null : headers.get(selectedPosition);
+    }
+
+    /**
+     * Removes an order's header from the list, e.g. after the order was cancelled.
+     * If it was the selected header, nothing is selected afterwards.
+     *
+     * @param orderNumber the number of the order to remove
+     */
+    public void remove(int orderNumber) {
+        for (int position = 0; position < headers.size(); position++) {
+            if (headers.get(position).getOrderNumber() == orderNumber) {
+                headers.remove(position);
+                notifyItemRemoved(position);
+                if (selectedPosition == position) {
+                    selectedPosition = RecyclerView.NO_POSITION;
+                } else if (selectedPosition > position) {
+                    selectedPosition--;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Inflates the row layout and creates a new ViewHolder with its click listener.
+     *
+     * @param parent the ViewGroup into which the new view will be added after it is bound to an adapter position.
+     * @param viewType the view type of the new View.
+     * @return a new ViewHolder that holds the View for each header
+     */
+    @NonNull
+    @Override
+    public HeaderViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(context)
+                .inflate(android.R.layout.simple_list_item_activated_1, parent, false);
+        HeaderViewHolder holder = new HeaderViewHolder(view);
+        view.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            int previous = selectedPosition;
+            selectedPosition = position;
+            if (previous != RecyclerView.NO_POSITION) {
+                notifyItemChanged(previous);
+            }
+            notifyItemChanged(position);
+            if (onHeaderClickListener != null) {
+                onHeaderClickListener.onHeaderClick(headers.get(position));
+            }
+        });
+        return holder;
+    }
+
+    /**
+     * Binds the header at the specified position to the ViewHolder.
+     *
+     * @param holder the ViewHolder which should be updated to represent the header at the given position.
+     * @param position the position of the header within the adapter's data set.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull HeaderViewHolder holder, int position) {
+        OrderHeader header = headers.get(position);
+        holder.tvHeader.setText("Order #" + header.getOrderNumber() + " - " + header.getItemCount() + " items, "
+                + Money.format(header.getSubtotalCents()));
+        holder.itemView.setActivated(position == selectedPosition);
+    }
+
+    /**
+     * Returns the number of headers loaded so far.
+     *
+     * @return the size of the loaded header list
+     */
+    @Override
+    public int getItemCount() {
+        return headers.size();
+    }
+
+    /**
+     * A ViewHolder describes an order header row.
+     */
+    public static class HeaderViewHolder extends RecyclerView.ViewHolder {
+        TextView tvHeader;
+        public HeaderViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvHeader = itemView.findViewById(android.R.id.text1);
+        }
+    }
+}
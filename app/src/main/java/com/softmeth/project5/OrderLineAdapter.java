@@ -0,0 +1,165 @@
+package com.softmeth.project5;
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+
+/**
+ * Adapter for the lines of the current order in a RecyclerView.
+ * New snapshots of the order's lines are diffed against the displayed ones on a background thread,
+ * so adding, merging or removing a line only rebinds and animates the rows that changed.
+ *
+ * @author Ridwan Sharkar
+ */
+class OrderLineAdapter extends ListAdapter<OrderLine, OrderLineAdapter.LineViewHolder>
+{
+    /**
+     * Payload for a rebind that only changes whether the row is highlighted as selected.
+     */
+    static final Object SELECTION_CHANGED = new Object();
+
+    /**
+     * Lines are the same row when they hold the same item; their contents match when the quantity does.
+     */
+    static final DiffUtil.ItemCallback<OrderLine> DIFF_CALLBACK = new DiffUtil.ItemCallback<OrderLine>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull OrderLine oldLine, @NonNull OrderLine newLine) {
+            return oldLine.getItem().equals(newLine.getItem());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull OrderLine oldLine, @NonNull OrderLine newLine) {
+            return oldLine.getQuantity() == newLine.getQuantity();
+        }
+    };
+    private final Context context;
+    private MenuItem selectedItem;
+
+    /**
+     * Constructs a new OrderLineAdapter with no lines.
+     *
+     * @param context the UI context in which the adapter operates, used to inflate layouts.
+     */
+    public OrderLineAdapter(Context context) {
+        super(DIFF_CALLBACK);
+        this.context = context;
+    }
+
+    /**
+     * Gets the displayed line the user selected.
+     *
+     * @return the selected line, or null if no line is selected or it is no longer displayed
+     */
+    public OrderLine getSelectedLine() {
+        int position = indexOf(selectedItem);
+        return position == RecyclerView.NO_POSITION ? null : getItem(position);
+    }
+
+    /**
+     * Clears the selection, e.g. after the selected line was removed from the order.
+     */
+    public void clearSelection() {
+        select(null);
+    }
+
+    /**
+     * Inflates the row layout and creates a new ViewHolder with its click listener.
+     *
+     * @param parent the ViewGroup into which the new view will be added after it is bound to an adapter position.
+     * @param viewType the view type of the new View.
+     * @return a new ViewHolder that holds the View for each line
+     */
+    @NonNull
+    @Override
+    public LineViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(context)
+                .inflate(android.R.layout.simple_list_item_activated_1, parent, false);
+        LineViewHolder holder = new LineViewHolder(view);
+        view.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                select(getItem(position).getItem());
+            }
+        });
+        return holder;
+    }
+
+    /**
+     * Binds the line at the specified position to the ViewHolder.
+     *
+     * @param holder the ViewHolder which should be updated to represent the line at the given position.
+     * @param position the position of the line within the adapter's data set.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull LineViewHolder holder, int position) {
+        OrderLine line = getItem(position);
+        holder.tvLine.setText(line.toString());
+        holder.itemView.setActivated(line.getItem().equals(selectedItem));
+    }
+
+    /**
+     * Rebinds only the selection highlight when every payload is a selection change, and falls
+     * back to a full bind otherwise.
+     *
+     * @param holder the ViewHolder which should be updated.
+     * @param position the position of the line within the adapter's data set.
+     * @param payloads the payloads passed to notifyItemChanged, empty for a full bind.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull LineViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        for (int i = 0, n = payloads.size(); i < n; i++) {
+            if (payloads.get(i) != SELECTION_CHANGED) {
+                onBindViewHolder(holder, position);
+                return;
+            }
+        }
+        holder.itemView.setActivated(getItem(position).getItem().equals(selectedItem));
+    }
+
+    private void select(MenuItem item) {
+        int previous = indexOf(selectedItem);
+        selectedItem = item;
+        if (previous != RecyclerView.NO_POSITION) {
+            notifyItemChanged(previous, SELECTION_CHANGED);
+        }
+        int position = indexOf(item);
+        if (position != RecyclerView.NO_POSITION && position != previous) {
+            notifyItemChanged(position, SELECTION_CHANGED);
+        }
+    }
+
+    private int indexOf(MenuItem item) {
+        if (item == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        List<OrderLine> lines = getCurrentList();
+        for (int i = 0, n = lines.size(); i < n; i++) {
+            if (lines.get(i).getItem().equals(item)) {
+                return i;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * A ViewHolder describes an order line row.
+     */
+    public static class LineViewHolder extends RecyclerView.ViewHolder {
+        final TextView tvLine;
+        public LineViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvLine = itemView.findViewById(android.R.id.text1);
+        }
+    }
+}
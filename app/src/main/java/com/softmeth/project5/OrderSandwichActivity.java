@@ -9,8 +9,6 @@ import android.widget.RadioGroup;
 import android.widget.Toast;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Activity for ordering sandwiches within the RU Café system.
@@ -61,6 +59,12 @@ public class OrderSandwichActivity extends AppCompatActivity
         onionsCheckBox = findViewById(R.id.OnionsCheckBox);
         subTotalTextView = findViewById(R.id.SubTotalSandwichTextView);
         addToOrderButton = findViewById(R.id.AddToOrderSandwichButton);
+        findViewById(R.id.ChickenRadioButton).setTag(Sandwich.MeatChoice.CHICKEN);
+        findViewById(R.id.FishRadioButton).setTag(Sandwich.MeatChoice.FISH);
+        findViewById(R.id.BeefRadioButton).setTag(Sandwich.MeatChoice.BEEF);
+        findViewById(R.id.WheatToastRadioButton).setTag(Sandwich.BreadChoice.WHEAT_TOAST);
+        findViewById(R.id.BagelRadioButton).setTag(Sandwich.BreadChoice.BAGEL);
+        findViewById(R.id.SourDoughRadioButton).setTag(Sandwich.BreadChoice.SOUR_DOUGH);
     }
 
     /**
@@ -131,6 +135,7 @@ public class OrderSandwichActivity extends AppCompatActivity
 
     /**
      * Updates the subtotal displayed based on the current selections of meat, bread, and any add-ons.
+     * The price comes from Sandwich's price table, so no Sandwich is built per selection change.
      */
     private void updateSubtotal() {
         RadioButton selectedMeat = findViewById(meatRadioGroup.getCheckedRadioButtonId());
@@ -138,28 +143,23 @@ public class OrderSandwichActivity extends AppCompatActivity
         if (selectedMeat == null || selectedBread == null) {
             return;
         }
-        String meatChoice = selectedMeat.getText().toString().toUpperCase();
-        String breadChoice = selectedBread.getText().toString();
-        List<String> addOns = getSelectedAddOns();
-        try {
-            Sandwich sandwich = Sandwich.createSandwich(meatChoice, breadChoice, addOns);
-            double subtotal = sandwich.price();
-            subTotalTextView.setText(String.format("$%.2f", subtotal));
-        } catch (IllegalArgumentException e) {
-            Toast.makeText(this, "Invalid selection: " + e.getMessage(), Toast.LENGTH_LONG).show();
-        }
+        long subtotalCents = Sandwich.lookupPriceCents((Sandwich.MeatChoice) selectedMeat.getTag(),
+                (Sandwich.BreadChoice) selectedBread.getTag(), getSelectedAddOnMask());
+        subTotalTextView.setText(Money.format(subtotalCents));
     }
 
     /**
-     * Retrieves a list of selected add-ons based on the state of the checkboxes.
+     * Builds the add-on mask for the currently checked add-on checkboxes.
+     *
+     * @return the selected add-ons as a combination of Sandwich.AddOns mask bits
      */
-    private List<String> getSelectedAddOns() {
-        List<String> addOns = new ArrayList<>();
-        if (cheeseCheckBox.isChecked()) addOns.add("CHEESE");
-        if (lettuceCheckBox.isChecked()) addOns.add("LETTUCE");
-        if (tomatoesCheckBox.isChecked()) addOns.add("TOMATOES");
-        if (onionsCheckBox.isChecked()) addOns.add("ONIONS");
-        return addOns;
+    private int getSelectedAddOnMask() {
+        int mask = 0;
+        if (cheeseCheckBox.isChecked()) mask |= Sandwich.AddOns.CHEESE.mask();
+        if (lettuceCheckBox.isChecked()) mask |= Sandwich.AddOns.LETTUCE.mask();
+        if (tomatoesCheckBox.isChecked()) mask |= Sandwich.AddOns.TOMATOES.mask();
+        if (onionsCheckBox.isChecked()) mask |= Sandwich.AddOns.ONIONS.mask();
+        return mask;
     }
 
     /**
@@ -168,10 +168,8 @@ public class OrderSandwichActivity extends AppCompatActivity
     private void addSandwichToOrder() {
         RadioButton selectedMeat = findViewById(meatRadioGroup.getCheckedRadioButtonId());
         RadioButton selectedBread = findViewById(breadRadioGroup.getCheckedRadioButtonId());
-        List<String> addOns = getSelectedAddOns();
-
-        Sandwich sandwich = Sandwich.createSandwich(selectedMeat.getText().toString().toUpperCase(),
-                selectedBread.getText().toString(), addOns);
+        Sandwich sandwich = MenuItems.sandwich((Sandwich.MeatChoice) selectedMeat.getTag(),
+                (Sandwich.BreadChoice) selectedBread.getTag(), getSelectedAddOnMask());
         Order currentOrder = Order.getInstance();
         currentOrder.addItem(sandwich);
         Toast.makeText(this, "Sandwich added to order!", Toast.LENGTH_SHORT).show();
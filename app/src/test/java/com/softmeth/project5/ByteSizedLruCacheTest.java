@@ -0,0 +1,88 @@
+package com.softmeth.project5;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the byte-bounded LRU cache and its counters.
+ *
+ * @author Ridwan Sharkar
+ */
+public class ByteSizedLruCacheTest {
+    private ByteSizedLruCache<String, byte[]> cache;
+
+    @Before
+    public void setUp() {
+        cache = new ByteSizedLruCache<>(100, value -> value.length);
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsedWhenFull() {
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+        assertNotNull(cache.get("a"));
+        cache.put("c", new byte[40]);
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(80, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertEquals(40, cache.evictedBytes());
+    }
+
+    @Test
+    public void replacingValue_adjustsSize() {
+        cache.put("a", new byte[40]);
+        cache.put("a", new byte[10]);
+        assertEquals(10, cache.size());
+        assertEquals(1, cache.entryCount());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    public void oversizedValue_isRejected() {
+        cache.put("a", new byte[40]);
+        assertFalse(cache.put("a", new byte[101]));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.rejectedCount());
+    }
+
+    @Test
+    public void counters_trackHitsAndMisses() {
+        cache.put("a", new byte[1]);
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.putCount());
+        assertTrue(cache.toString().contains("hitRate=66%"));
+    }
+
+    @Test
+    public void trimAndResize_evictOldestFirst() {
+        cache.put("a", new byte[30]);
+        cache.put("b", new byte[30]);
+        cache.put("c", new byte[30]);
+        cache.trimTo(60);
+        assertNull(cache.get("a"));
+        cache.resize(30);
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(30, cache.maxSize());
+        cache.evictAll();
+        assertEquals(0, cache.size());
+        assertEquals(3, cache.evictionCount());
+    }
+
+    @Test
+    public void remove_isNotCountedAsEviction() {
+        cache.put("a", new byte[30]);
+        assertNotNull(cache.remove("a"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.evictionCount());
+    }
+}
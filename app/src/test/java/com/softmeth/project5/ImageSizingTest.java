@@ -0,0 +1,54 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the downsampling arithmetic used when decoding artwork.
+ *
+ * @author Ridwan Sharkar
+ */
+public class ImageSizingTest {
+
+    @Test
+    public void sampleSize_keepsImageAtLeastAsLargeAsTarget() {
+        assertEquals(1, ImageSizing.calculateInSampleSize(500, 500, 400, 400));
+        assertEquals(2, ImageSizing.calculateInSampleSize(1000, 1000, 500, 500));
+        assertEquals(2, ImageSizing.calculateInSampleSize(1000, 1000, 499, 300));
+        assertEquals(4, ImageSizing.calculateInSampleSize(2048, 1536, 512, 384));
+        assertEquals(8, ImageSizing.calculateInSampleSize(4032, 3024, 500, 250));
+    }
+
+    @Test
+    public void sampleSize_isLimitedByTheTighterDimension() {
+        assertEquals(2, ImageSizing.calculateInSampleSize(2000, 1000, 200, 400));
+    }
+
+    @Test
+    public void sampleSize_ignoresUnconstrainedDimension() {
+        assertEquals(8, ImageSizing.calculateInSampleSize(1600, 1200, 0, 150));
+        assertEquals(1, ImageSizing.calculateInSampleSize(1600, 1200, 0, 0));
+    }
+
+    @Test
+    public void sampleSize_neverUpscales() {
+        assertEquals(1, ImageSizing.calculateInSampleSize(100, 100, 400, 400));
+    }
+
+    @Test
+    public void decodedByteCount_roundsPartialSamplesUp() {
+        assertEquals(3, ImageSizing.sampledDimension(5, 2));
+        assertEquals(1600L * 1200 * 4, ImageSizing.decodedByteCount(1600, 1200, 1, 4));
+        assertEquals(200L * 150 * 4, ImageSizing.decodedByteCount(1600, 1200, 8, 4));
+        assertEquals(3L * 3 * 2, ImageSizing.decodedByteCount(5, 5, 2, 2));
+    }
+
+    @Test
+    public void sampledSize_rejectsDensityScaledBitmap() {
+        assertTrue(ImageSizing.isSampledSize(1600, 1201, 8, 200, 151));
+        assertTrue(ImageSizing.isSampledSize(1600, 1201, 8, 200, 150));
+        // Sampled by 8, then scaled 3x for an xxhdpi screen.
+        assertFalse(ImageSizing.isSampledSize(1600, 1200, 8, 600, 450));
+    }
+}
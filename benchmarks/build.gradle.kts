@@ -0,0 +1,26 @@
+// JMH benchmarks for the pricing and order model. Run with ./gradlew :benchmarks:jmh;
+// results are written as JSON to build/results/jmh/results.json.
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    jmh(project(":core"))
+    jmh(libs.jmh.core)
+    jmh(libs.jmh.generator.annprocess)
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+}
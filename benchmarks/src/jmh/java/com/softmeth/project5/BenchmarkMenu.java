@@ -0,0 +1,80 @@
+package com.softmeth.project5;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The menu items the benchmarks draw from: every coffee configuration, every donut on the menu and
+ * every sandwich configuration, as the shared instances an order would hold.
+ *
+ * @author Ridwan Sharkar
+ */
+final class BenchmarkMenu
+{
+    static final String[][] DONUTS = {
+            {"YEAST", "STRAWBERRY_YEAST"}, {"YEAST", "GLAZED_YEAST"}, {"YEAST", "CARAMEL_YEAST"},
+            {"YEAST", "CINNAMON_YEAST"}, {"YEAST", "COCONUT_YEAST"}, {"YEAST", "MINT_YEAST"},
+            {"CAKE", "MOCHA_CAKE"}, {"CAKE", "CHAI_CAKE"}, {"CAKE", "MATCHA_CAKE"},
+            {"DONUT_HOLE", "POWDERED_DONUT_HOLE"}, {"DONUT_HOLE", "BLUEBERRY_DONUT_HOLE"},
+            {"DONUT_HOLE", "LEMON_DONUT_HOLE"}};
+
+    private BenchmarkMenu() {
+    }
+
+    /**
+     * Lists every coffee configuration.
+     */
+    static List<MenuItem> coffees() {
+        List<MenuItem> items = new ArrayList<>();
+        for (int code = 0; code < Coffee.CONFIG_CODE_COUNT; code++) {
+            items.add(MenuItems.coffee(code));
+        }
+        return items;
+    }
+
+    /**
+     * Lists every donut on the menu.
+     */
+    static List<MenuItem> donuts() {
+        List<MenuItem> items = new ArrayList<>();
+        for (String[] donut : DONUTS) {
+            items.add(MenuItems.donut(donut[0], donut[1]));
+        }
+        return items;
+    }
+
+    /**
+     * Lists every sandwich configuration.
+     */
+    static List<MenuItem> sandwiches() {
+        List<MenuItem> items = new ArrayList<>();
+        for (Sandwich.MeatChoice meat : Sandwich.MeatChoice.values()) {
+            for (Sandwich.BreadChoice bread : Sandwich.BreadChoice.values()) {
+                for (int mask = 0; mask < 1 << Sandwich.AddOns.values().length; mask++) {
+                    items.add(MenuItems.sandwich(meat, bread, mask));
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Draws a reproducible random sequence of items from the given pools, one pool per draw in turn.
+     *
+     * @param count the number of items to draw
+     * @param seed  the random seed
+     * @param pools the pools to draw from
+     * @return the drawn items
+     */
+    @SafeVarargs
+    static MenuItem[] draw(int count, long seed, List<MenuItem>... pools) {
+        Random random = new Random(seed);
+        MenuItem[] items = new MenuItem[count];
+        for (int i = 0; i < count; i++) {
+            List<MenuItem> pool = pools[i % pools.length];
+            items[i] = pool.get(random.nextInt(pool.size()));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,108 @@
+package com.softmeth.project5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scanning the order history as objects, walking each PlacedOrder's lines and calling
+ * priceCents() on every item, with scanning the same history stored in ColumnarOrderHistory's
+ * primitive columns. The scans total one day's sandwiches and a single order.
+ *
+ * @author Ridwan Sharkar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColumnarHistoryBenchmark
+{
+    private static final int LINES_PER_ORDER = 5;
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final int ORDERS_PER_DAY = 500;
+
+    @Param({"1000", "100000"})
+    public int orderCount;
+    private List<PlacedOrder> orders;
+    private ColumnarOrderHistory columns;
+    private long dayStart;
+    private int lookupOrderNumber;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MenuItem[] items = BenchmarkMenu.draw(orderCount * LINES_PER_ORDER, 13, BenchmarkMenu.coffees(),
+                BenchmarkMenu.donuts(), BenchmarkMenu.sandwiches());
+        orders = new ArrayList<>(orderCount);
+        columns = new ColumnarOrderHistory();
+        for (int order = 0; order < orderCount; order++) {
+            List<OrderLine> lines = new ArrayList<>(LINES_PER_ORDER);
+            for (int line = 0; line < LINES_PER_ORDER; line++) {
+                lines.add(new OrderLine(items[order * LINES_PER_ORDER + line], 1 + line));
+            }
+            PlacedOrder placed = new PlacedOrder(order + 1, order * DAY_MILLIS / ORDERS_PER_DAY, lines);
+            orders.add(placed);
+            columns.add(placed);
+        }
+        dayStart = (orderCount / ORDERS_PER_DAY / 2) * DAY_MILLIS;
+        lookupOrderNumber = orderCount / 2;
+    }
+
+    @Benchmark
+    public long sandwichRevenueForDayFromObjects() {
+        long revenue = 0;
+        for (int i = 0, n = orders.size(); i < n; i++) {
+            PlacedOrder order = orders.get(i);
+            long placedAt = order.getPlacedAtMillis();
+            if (placedAt < dayStart || placedAt >= dayStart + DAY_MILLIS) {
+                continue;
+            }
+            List<OrderLine> lines = order.getLines();
+            for (int j = 0, m = lines.size(); j < m; j++) {
+                OrderLine line = lines.get(j);
+                if (line.getItem() instanceof Sandwich) {
+                    revenue += line.getItem().priceCents() * line.getQuantity();
+                }
+            }
+        }
+        return revenue;
+    }
+
+    @Benchmark
+    public long sandwichRevenueForDayFromColumns() {
+        return columns.sumRevenueCents(ItemKind.SANDWICH, dayStart, dayStart + DAY_MILLIS);
+    }
+
+    @Benchmark
+    public long allTimeItemRevenueFromObjects() {
+        long revenue = 0;
+        for (int i = 0, n = orders.size(); i < n; i++) {
+            List<OrderLine> lines = orders.get(i).getLines();
+            for (int j = 0, m = lines.size(); j < m; j++) {
+                OrderLine line = lines.get(j);
+                revenue += line.getItem().priceCents() * line.getQuantity();
+            }
+        }
+        return revenue;
+    }
+
+    @Benchmark
+    public long allTimeItemRevenueFromColumns() {
+        return columns.sumRevenueCents(ItemKind.COFFEE, Long.MIN_VALUE, Long.MAX_VALUE)
+                + columns.sumRevenueCents(ItemKind.DONUT, Long.MIN_VALUE, Long.MAX_VALUE)
+                + columns.sumRevenueCents(ItemKind.SANDWICH, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public long orderTotalFromColumns() {
+        return columns.sumOrderCents(lookupOrderNumber);
+    }
+}
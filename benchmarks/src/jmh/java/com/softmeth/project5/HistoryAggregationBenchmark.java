@@ -0,0 +1,110 @@
+package com.softmeth.project5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-of-day aggregation over the order history: summing cached order subtotals, counting
+ * units sold per item across every order's lines, replaying the order headers from the log, and
+ * rebuilding the SalesAggregator counters in parallel versus reading a report from them.
+ *
+ * @author Ridwan Sharkar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HistoryAggregationBenchmark
+{
+    private static final int LINES_PER_ORDER = 5;
+
+    @Param({"100", "10000"})
+    public int orderCount;
+    private OrderHistory history;
+    private List<OrderHeader> headers;
+    private SalesAggregator sales;
+    private File logFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MenuItem[] items = BenchmarkMenu.draw(orderCount * LINES_PER_ORDER, 11, BenchmarkMenu.coffees(),
+                BenchmarkMenu.donuts(), BenchmarkMenu.sandwiches());
+        logFile = File.createTempFile("orders", ".log");
+        logFile.delete();
+        OrderLog log = new OrderLog(logFile);
+        OrderHistory logged = new OrderHistory(log);
+        history = new OrderHistory();
+        for (int order = 0; order < orderCount; order++) {
+            List<OrderLine> lines = new ArrayList<>(LINES_PER_ORDER);
+            for (int line = 0; line < LINES_PER_ORDER; line++) {
+                lines.add(new OrderLine(items[order * LINES_PER_ORDER + line], 1 + line));
+            }
+            PlacedOrder placed = new PlacedOrder(order + 1, order * 60_000L, lines);
+            history.add(placed);
+            logged.add(placed);
+        }
+        log.close();
+        headers = history.getHeaders(0, orderCount);
+        sales = SalesAggregator.aggregate(history, ForkJoinPool.commonPool());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        logFile.delete();
+    }
+
+    @Benchmark
+    public long sumSubtotals() throws IOException {
+        long total = 0;
+        for (OrderHeader header : history.getHeaders(0, orderCount)) {
+            total += header.getSubtotalCents();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Map<MenuItem, Long> unitsSoldPerItem() throws IOException {
+        Map<MenuItem, Long> units = new HashMap<>();
+        for (OrderHeader header : headers) {
+            for (OrderLine line : history.getOrder(header).getLines()) {
+                Long sold = units.get(line.getItem());
+                units.put(line.getItem(), (sold == null ? 0 : sold) + line.getQuantity());
+            }
+        }
+        return units;
+    }
+
+    @Benchmark
+    public int replayHeadersFromLog() throws IOException {
+        try (OrderLog log = new OrderLog(logFile)) {
+            return new OrderHistory(log).getOrderCount();
+        }
+    }
+
+    @Benchmark
+    public SalesAggregator rebuildSalesInParallel() throws IOException {
+        return SalesAggregator.aggregate(history, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public List<SalesAggregator.FlavorSales> readSalesReport() {
+        sales.getAverageTicketCents();
+        return sales.getTopDonutFlavors(5);
+    }
+}
@@ -0,0 +1,82 @@
+package com.softmeth.project5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures pricing a single menu item and building a sandwich from the options chosen on screen.
+ *
+ * @author Ridwan Sharkar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemPricingBenchmark
+{
+    private Coffee coffee;
+    private Donut donut;
+    private Sandwich sandwich;
+    private int cupSizeIndex;
+    private int addonCount;
+    private List<String> addOnNames;
+
+    @Setup
+    public void setUp() {
+        coffee = MenuItems.coffee("Grande", 3);
+        donut = MenuItems.donut("CAKE", "MOCHA_CAKE");
+        sandwich = MenuItems.sandwich("BEEF", "Bagel", Arrays.asList("CHEESE", "ONIONS"));
+        cupSizeIndex = 2;
+        addonCount = 3;
+        addOnNames = Arrays.asList("LETTUCE", "TOMATOES", "ONIONS");
+    }
+
+    @Benchmark
+    public long coffeePriceCents() {
+        return coffee.priceCents();
+    }
+
+    @Benchmark
+    public double coffeePrice() {
+        return coffee.price();
+    }
+
+    @Benchmark
+    public long coffeeTableLookup() {
+        return Coffee.lookupPriceCents(cupSizeIndex, addonCount);
+    }
+
+    @Benchmark
+    public long donutPriceCents() {
+        return donut.priceCents();
+    }
+
+    @Benchmark
+    public long sandwichPriceCents() {
+        return sandwich.priceCents();
+    }
+
+    @Benchmark
+    public Sandwich newSandwichFromNames() {
+        return new Sandwich("CHICKEN", "SOUR_DOUGH", addOnNames);
+    }
+
+    @Benchmark
+    public Sandwich sharedSandwichFromNames() {
+        return MenuItems.sandwich("CHICKEN", "Sour Dough", addOnNames);
+    }
+
+    @Benchmark
+    public Sandwich sharedSandwichFromChoices() {
+        return MenuItems.sandwich(Sandwich.MeatChoice.CHICKEN, Sandwich.BreadChoice.SOUR_DOUGH,
+                Sandwich.AddOns.LETTUCE.mask() | Sandwich.AddOns.TOMATOES.mask());
+    }
+}
@@ -0,0 +1,76 @@
+package com.softmeth.project5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the string work done when a list of order lines is rendered repeatedly, as an adapter
+ * does on every layout pass: the cached labels built by MenuItem against labels built with
+ * String.format, the way the menu items did before labels were cached.
+ *
+ * @author Ridwan Sharkar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LabelRenderingBenchmark
+{
+    private static final String[] CUP_SIZES = {"SHORT", "TALL", "GRANDE", "VENTI"};
+    @Param({"2000"})
+    public int rowCount;
+    private MenuItem[] rows;
+
+    @Setup
+    public void setUp() {
+        rows = BenchmarkMenu.draw(rowCount, 42, BenchmarkMenu.coffees(), BenchmarkMenu.donuts(),
+                BenchmarkMenu.sandwiches());
+    }
+
+    @Benchmark
+    public long renderCachedLabels() {
+        long length = 0;
+        for (MenuItem row : rows) {
+            length += row.toString().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public long renderFormattedLabels() {
+        long length = 0;
+        for (MenuItem row : rows) {
+            length += formattedLabel(row).length();
+        }
+        return length;
+    }
+
+    private static String formattedLabel(MenuItem item) {
+        if (item instanceof Coffee) {
+            int code = ((Coffee) item).getPackedCode();
+            int addonSlots = Coffee.MAX_ADDONS + 1;
+            return String.format("Coffee: Size-%s, Added Flavors-%s", CUP_SIZES[code / addonSlots],
+                    code % addonSlots);
+        }
+        if (item instanceof Donut) {
+            return String.format("Donut: %s", ((Donut) item).getDonutFlavor());
+        }
+        Sandwich sandwich = (Sandwich) item;
+        StringBuilder addOns = new StringBuilder();
+        for (Sandwich.AddOns addOn : sandwich.getAddOns()) {
+            if (addOns.length() > 0) {
+                addOns.append(", ");
+            }
+            addOns.append(addOn.name());
+        }
+        return String.format("Sandwich: Meat - %s, Bread - %s, Add-ons - %s",
+                sandwich.getMeatChoice(), sandwich.getBreadChoice(), addOns);
+    }
+}
@@ -0,0 +1,72 @@
+package com.softmeth.project5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what the hot-path metrics cost: recording a value, timing one operation with a
+ * histogram, and adding an item to an order, with the default registry enabled and disabled.
+ * Reading the clock is measured on its own, since timing an operation reads it twice.
+ *
+ * @author Ridwan Sharkar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark
+{
+    @Param({"false", "true"})
+    public boolean enabled;
+    private MetricsRegistry.Histogram histogram;
+    private MenuItem[] items;
+    private Order order;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        MetricsRegistry.getDefault().setEnabled(enabled);
+        histogram = MetricsRegistry.getDefault().histogram("benchmark.timed");
+        items = BenchmarkMenu.draw(64, 42, BenchmarkMenu.coffees(), BenchmarkMenu.donuts(),
+                BenchmarkMenu.sandwiches());
+        Order.getInstance().resetOrder();
+        order = Order.getInstance();
+    }
+
+    @TearDown
+    public void tearDown() {
+        MetricsRegistry.getDefault().setEnabled(false);
+        MetricsRegistry.getDefault().reset();
+    }
+
+    @Benchmark
+    public long timeEmptyOperation() {
+        long start = histogram.start();
+        histogram.stop(start);
+        return start;
+    }
+
+    @Benchmark
+    public long readClock() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public void recordValue() {
+        histogram.record(next++ & 1023);
+    }
+
+    @Benchmark
+    public long addItem() {
+        order.addItem(items[next++ & 63]);
+        return order.getSubtotalCents();
+    }
+}
@@ -0,0 +1,125 @@
+package com.softmeth.project5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding orders of 4 and 500 lines with OrderCodec against Java
+ * serialization. The menu classes are not Serializable, so Java serialization is measured on a
+ * Serializable copy of each order holding the same fields: every line's item kind, packed code or
+ * donut flavor, and quantity.
+ *
+ * @author Ridwan Sharkar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderCodecBenchmark
+{
+    @Param({"4", "500"})
+    public int lineCount;
+    private PlacedOrder order;
+    private byte[] encoded;
+    private SerializableOrder serializable;
+    private byte[] serialized;
+
+    /**
+     * An order as it would be written by Java serialization.
+     */
+    static final class SerializableOrder implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final int orderNumber;
+        final long placedAtMillis;
+        final ArrayList<SerializableLine> lines;
+
+        SerializableOrder(PlacedOrder order) {
+            this.orderNumber = order.getOrderNumber();
+            this.placedAtMillis = order.getPlacedAtMillis();
+            this.lines = new ArrayList<>(order.getLines().size());
+            for (OrderLine line : order.getLines()) {
+                lines.add(new SerializableLine(line));
+            }
+        }
+    }
+
+    /**
+     * An order line as it would be written by Java serialization.
+     */
+    static final class SerializableLine implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final ItemKind kind;
+        final int code;
+        final String flavor;
+        final int quantity;
+
+        SerializableLine(OrderLine line) {
+            MenuItem item = line.getItem();
+            this.kind = ItemKind.of(item);
+            this.code = item instanceof Coffee ? ((Coffee) item).getPackedCode()
+                    : item instanceof Sandwich ? ((Sandwich) item).getPackedCode()
+                    : ((Donut) item).getDonutType().ordinal();
+            this.flavor = item instanceof Donut ? ((Donut) item).getDonutFlavor() : null;
+            this.quantity = line.getQuantity();
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        MenuItem[] items = BenchmarkMenu.draw(lineCount, 42, BenchmarkMenu.coffees(), BenchmarkMenu.donuts(),
+                BenchmarkMenu.sandwiches());
+        List<OrderLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderLine(items[i], 1 + i % 12));
+        }
+        order = new PlacedOrder(12_345, 1_700_000_000_000L, lines);
+        encoded = OrderCodec.encode(order);
+        serializable = new SerializableOrder(order);
+        serialized = serialize(serializable);
+    }
+
+    @Benchmark
+    public byte[] encodeWithCodec() {
+        return OrderCodec.encode(order);
+    }
+
+    @Benchmark
+    public PlacedOrder decodeWithCodec() throws IOException {
+        return OrderCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public byte[] encodeWithJavaSerialization() throws IOException {
+        return serialize(serializable);
+    }
+
+    @Benchmark
+    public Object decodeWithJavaSerialization() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+}
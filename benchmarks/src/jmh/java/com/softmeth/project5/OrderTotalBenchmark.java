@@ -0,0 +1,87 @@
+package com.softmeth.project5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building and totalling orders of 10, 1,000 and 100,000 items drawn from the whole menu.
+ * Equal items merge into one line, so large orders exercise the merge path far more than new lines.
+ * Filling item by item is compared with adding every item in one batch.
+ *
+ * @author Ridwan Sharkar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderTotalBenchmark
+{
+    @Param({"10", "1000", "100000"})
+    public int itemCount;
+    private MenuItem[] items;
+    private List<MenuItem> itemList;
+    private Order filledOrder;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkMenu.draw(itemCount, 42, BenchmarkMenu.coffees(), BenchmarkMenu.donuts(),
+                BenchmarkMenu.sandwiches());
+        itemList = Arrays.asList(items);
+        filledOrder = fill(items);
+    }
+
+    @Benchmark
+    public long fillOrder() {
+        return fill(items).getTotalCents();
+    }
+
+    @Benchmark
+    public long fillOrderInOneBatch() {
+        Order.getInstance().resetOrder();
+        Order order = Order.getInstance();
+        order.addAll(itemList);
+        return order.getTotalCents();
+    }
+
+    @Benchmark
+    public double calculateTotal() {
+        return filledOrder.calculateTotal();
+    }
+
+    @Benchmark
+    public long recalculateTotalCents() {
+        return filledOrder.recalculateTotalCents();
+    }
+
+    @Benchmark
+    public List<OrderLine> getLines() {
+        return filledOrder.getLines();
+    }
+
+    @Benchmark
+    public long sumItemPrices() {
+        long total = 0;
+        for (MenuItem item : items) {
+            total += item.priceCents();
+        }
+        return total;
+    }
+
+    private static Order fill(MenuItem[] items) {
+        Order.getInstance().resetOrder();
+        Order order = Order.getInstance();
+        for (MenuItem item : items) {
+            order.addItem(item);
+        }
+        return order;
+    }
+}
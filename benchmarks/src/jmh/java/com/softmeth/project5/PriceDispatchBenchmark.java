@@ -0,0 +1,66 @@
+package com.softmeth.project5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures summing prices over 10,000 items when the call site sees one, two or all three menu
+ * item classes, i.e. monomorphic, bimorphic and megamorphic dispatch of priceCents() and price().
+ *
+ * @author Ridwan Sharkar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriceDispatchBenchmark
+{
+    private static final int ITEM_COUNT = 10_000;
+
+    public enum Mix { MONOMORPHIC, BIMORPHIC, MEGAMORPHIC }
+
+    @Param
+    public Mix mix;
+    private MenuItem[] items;
+
+    @Setup
+    public void setUp() {
+        switch (mix) {
+            case MONOMORPHIC:
+                items = BenchmarkMenu.draw(ITEM_COUNT, 7, BenchmarkMenu.coffees());
+                break;
+            case BIMORPHIC:
+                items = BenchmarkMenu.draw(ITEM_COUNT, 7, BenchmarkMenu.coffees(), BenchmarkMenu.donuts());
+                break;
+            default:
+                items = BenchmarkMenu.draw(ITEM_COUNT, 7, BenchmarkMenu.coffees(), BenchmarkMenu.donuts(),
+                        BenchmarkMenu.sandwiches());
+                break;
+        }
+    }
+
+    @Benchmark
+    public long sumPriceCents() {
+        long total = 0;
+        for (MenuItem item : items) {
+            total += item.priceCents();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double sumPrice() {
+        double total = 0;
+        for (MenuItem item : items) {
+            total += item.price();
+        }
+        return total;
+    }
+}
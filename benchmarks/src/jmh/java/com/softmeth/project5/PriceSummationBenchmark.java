@@ -0,0 +1,62 @@
+package com.softmeth.project5;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures summing an end-of-day volume of item prices three ways: long cents, double dollars and
+ * BigDecimal. Only the cent and BigDecimal sums are exact; PriceSummationTest checks they agree.
+ *
+ * @author Ridwan Sharkar
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriceSummationBenchmark
+{
+    @Param({"300000"})
+    public int itemCount;
+    private MenuItem[] items;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkMenu.draw(itemCount, 7, BenchmarkMenu.coffees(), BenchmarkMenu.donuts(),
+                BenchmarkMenu.sandwiches());
+    }
+
+    @Benchmark
+    public long sumCents() {
+        long total = 0;
+        for (MenuItem item : items) {
+            total += item.priceCents();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double sumDouble() {
+        double total = 0;
+        for (MenuItem item : items) {
+            total += item.price();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (MenuItem item : items) {
+            total = total.add(BigDecimal.valueOf(item.priceCents(), 2));
+        }
+        return total;
+    }
+}
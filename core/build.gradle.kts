@@ -0,0 +1,15 @@
+// The ordering and pricing domain: menu items, orders and the order history. Plain Java with no
+// Android dependencies, so it can be reused by a server process and tested on any JVM.
+plugins {
+    `java-library`
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    testImplementation(libs.junit)
+    testImplementation(libs.jol.core)
+}
@@ -0,0 +1,163 @@
+package com.softmeth.project5;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An order history that keeps a SalesAggregator up to date as orders are placed and cancelled.
+ * Every call is passed on to the wrapped store; placing or cancelling an order also adds it to, or
+ * takes it out of, the sales counters. Orders already persisted when the history is opened are
+ * counted by rebuildSales().
+ *
+ * @author Ridwan Sharkar
+ */
+public class AggregatingOrderHistory implements OrderHistoryStore
+{
+    private final OrderHistoryStore store;
+    private final SalesAggregator sales;
+    /*============================================================================================*/
+
+    /**
+     * Constructs a history that aggregates the orders placed and cancelled through it.
+     *
+     * @param store the store holding the orders
+     */
+    public AggregatingOrderHistory(OrderHistoryStore store)
+    {
+        this.store = store;
+        this.sales = new SalesAggregator();
+    }
+
+    /**
+     * Gets the sales counters kept for this history.
+     *
+     * @return the sales aggregator
+     */
+    public SalesAggregator getSales() {
+        return sales;
+    }
+
+    /**
+     * Recomputes the sales counters from every order in the store, splitting the work across the pool.
+     * Orders cannot be placed or cancelled through this history while it is rebuilt.
+     *
+     * @param pool the pool to run the aggregation in
+     * @throws IOException if the store cannot be read; the counters are left unchanged
+     */
+    public synchronized void rebuildSales(ForkJoinPool pool) throws IOException {
+        sales.replaceWith(SalesAggregator.aggregate(store, pool));
+    }
+
+    /**
+     * Counts the orders in the wrapped store.
+     *
+     * @return the number of orders in the store
+     * @throws IOException if the store cannot be read
+     */
+    @Override
+    public int getOrderCount() throws IOException {
+        return store.getOrderCount();
+    }
+
+    /**
+     * Gets a page of order headers from the wrapped store, oldest first.
+     *
+     * @param offset the index of the first header to return
+     * @param limit  the most headers to return
+     * @return the headers in the requested range
+     * @throws IOException if the store cannot be read
+     */
+    @Override
+    public List<OrderHeader> getHeaders(int offset, int limit) throws IOException {
+        return store.getHeaders(offset, limit);
+    }
+
+    /**
+     * Gets a page of the headers of orders numbered after a given order from the wrapped store.
+     *
+     * @param orderNumber the number of the last order already listed, or 0 for the first page
+     * @param limit       the most headers to return
+     * @return the headers of the first orders numbered above orderNumber
+     * @throws IOException if the store cannot be read
+     */
+    @Override
+    public List<OrderHeader> getHeadersAfter(int orderNumber, int limit) throws IOException {
+        return store.getHeadersAfter(orderNumber, limit);
+    }
+
+    /**
+     * Finds the header of an order in the wrapped store.
+     *
+     * @param orderNumber the number of the order
+     * @return the order's header, or null if no such order is in the store
+     * @throws IOException if the store cannot be read
+     */
+    @Override
+    public OrderHeader findHeader(int orderNumber) throws IOException {
+        return store.findHeader(orderNumber);
+    }
+
+    /**
+     * Opens an order from the wrapped store.
+     *
+     * @param header the header of the order to open
+     * @return the full order
+     * @throws IOException if the order cannot be read
+     */
+    @Override
+    public PlacedOrder getOrder(OrderHeader header) throws IOException {
+        return store.getOrder(header);
+    }
+
+    /**
+     * Reads every order in the wrapped store in one pass.
+     *
+     * @return every order in the store, oldest first
+     * @throws IOException if the store cannot be read
+     */
+    @Override
+    public List<PlacedOrder> loadOrders() throws IOException {
+        return store.loadOrders();
+    }
+
+    /**
+     * Records a newly placed order and adds it to the sales counters.
+     *
+     * @param order the order that was placed
+     * @return the header of the recorded order
+     * @throws IOException if the order cannot be written; it is not counted
+     */
+    @Override
+    public synchronized OrderHeader add(PlacedOrder order) throws IOException {
+        OrderHeader header = store.add(order);
+        sales.addOrder(order);
+        return header;
+    }
+
+    /**
+     * Cancels a previously placed order and takes it out of the sales counters.
+     * The order is opened first, so its lines can be subtracted.
+     *
+     * @param orderNumber the number of the order to cancel
+     * @throws IOException if the order cannot be read or the cancellation cannot be written
+     */
+    @Override
+    public synchronized void cancel(int orderNumber) throws IOException {
+        OrderHeader header = store.findHeader(orderNumber);
+        PlacedOrder order = header == null ? null : store.getOrder(header);
+        store.cancel(orderNumber);
+        if (order != null) {
+            sales.removeOrder(order);
+        }
+    }
+
+    /**
+     * Forces the wrapped store's batched writes to durable storage.
+     *
+     * @throws IOException if the store cannot be synced
+     */
+    @Override
+    public void sync() throws IOException {
+        store.sync();
+    }
+}
@@ -0,0 +1,214 @@
+package com.softmeth.project5;
+
+/**
+ * Coffee class to extend MenuItem abstract class
+ * Represents a Coffee item in the menu
+ * It allows specifying cup size and number of add-ons to calculate total price
+ *
+ * @author Ridwan Sharkar
+ */
+public class Coffee extends MenuItem
+{
+    /**
+     * Enum for coffee cup sizes with predefined size options.
+     */
+    private enum CupSize { SHORT, TALL, GRANDE, VENTI }
+    private final CupSize cupSize;
+    private final int addonCount;
+    private final int configCode;
+    private static final long BASE_PRICE_CENTS = 199;
+    private static final long SIZE_INCREMENT_PRICE_CENTS = 50;
+    public static final long ADDON_PRICE_CENTS = 30;
+    /**
+     * The most add-ons (flavor shots) a single coffee can have.
+     */
+    public static final int MAX_ADDONS = 5;
+    private static final int ADDON_SLOTS = MAX_ADDONS + 1;
+    /**
+     * Number of cup sizes, indexed from SHORT (0) to VENTI (3).
+     */
+    public static final int CUP_SIZE_COUNT = CupSize.values().length;
+    /**
+     * Every configuration code below this value is a valid coffee.
+     */
+    public static final int CONFIG_CODE_COUNT = CupSize.values().length * ADDON_SLOTS;
+    /**
+     * Price in cents of every cup size and add-on count, indexed by configuration code.
+     */
+    private static final long[] PRICE_TABLE_CENTS = buildPriceTable();
+    /*============================================================================================*/
+
+    /**
+     * Constructs a new Coffee instance with specified cup size and add-ons count.
+     *
+     * @param cupSize    the coffee cup size as a string
+     * @param addonCount the number of add-ons added to the coffee
+     * @throws IllegalArgumentException if the add-on count is negative or above MAX_ADDONS
+     */
+    public Coffee(String cupSize, int addonCount)
+    {
+        this.cupSize = CupSize.valueOf(cupSize.toUpperCase());
+        this.addonCount = addonCount;
+        this.configCode = configCode(this.cupSize.ordinal(), addonCount);
+    }
+
+    /**
+     * Creates a Coffee from a packed configuration code, e.g. one read back from storage.
+     *
+     * @param packedCode a code previously returned by getPackedCode()
+     * @return the coffee described by the code
+     * @throws IllegalArgumentException if the code is out of range
+     */
+    public static Coffee fromPackedCode(int packedCode)
+    {
+        if (packedCode < 0 || packedCode >= CONFIG_CODE_COUNT) {
+            throw new IllegalArgumentException("Invalid Coffee Code: " + packedCode);
+        }
+        return new Coffee(CupSize.values()[packedCode / ADDON_SLOTS].name(), packedCode % ADDON_SLOTS);
+    }
+
+    /**
+     * Returns the cup size and add-on count of this coffee packed into a single int.
+     *
+     * @return the packed configuration code
+     */
+    public int getPackedCode()
+    {
+        return configCode;
+    }
+
+    /**
+     * Returns the cup size of this coffee as an index from SHORT (0) to VENTI (3).
+     *
+     * @return the cup size index
+     */
+    public int getCupSizeIndex()
+    {
+        return cupSize.ordinal();
+    }
+
+    /**
+     * Gets the name of a cup size, e.g. "GRANDE".
+     *
+     * @param cupSizeIndex the cup size as an index from SHORT (0) to VENTI (3)
+     * @return the name of the cup size
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range
+     */
+    public static String cupSizeName(int cupSizeIndex)
+    {
+        return CupSize.values()[cupSizeIndex].name();
+    }
+
+    /**
+     * Returns the total price of the coffee in cents, looked up from the precomputed price table.
+     * Overwrites Abstract Method in MenuItem
+     *
+     * @return the total price of the coffee, in cents
+     */
+    @Override
+    public long priceCents()
+    {
+        return PRICE_TABLE_CENTS[configCode];
+    }
+
+    /**
+     * Looks up the price in cents of a coffee configuration without constructing a Coffee.
+     *
+     * @param cupSizeIndex the cup size as an index from SHORT (0) to VENTI (3)
+     * @param addonCount   the number of add-ons
+     * @return the price of one such coffee, in cents
+     * @throws IllegalArgumentException if either argument is out of range
+     */
+    public static long lookupPriceCents(int cupSizeIndex, int addonCount)
+    {
+        if (cupSizeIndex < 0 || cupSizeIndex >= CupSize.values().length) {
+            throw new IllegalArgumentException("Invalid Cup Size: " + cupSizeIndex);
+        }
+        return PRICE_TABLE_CENTS[configCode(cupSizeIndex, addonCount)];
+    }
+
+    /**
+     * Packs a cup size name and add-on count into a configuration code without constructing a Coffee.
+     *
+     * @param cupSize    the coffee cup size as a string, ignoring case
+     * @param addonCount the number of add-ons
+     * @return the configuration code, as returned by getPackedCode()
+     * @throws IllegalArgumentException if the cup size is unknown or the add-on count is out of range
+     */
+    public static int packCode(String cupSize, int addonCount)
+    {
+        return configCode(CupSize.valueOf(cupSize.toUpperCase()).ordinal(), addonCount);
+    }
+
+    /**
+     * Packs a cup size and add-on count into an index of the price table.
+     *
+     * @param cupSizeIndex the ordinal of the cup size
+     * @param addonCount   the number of add-ons
+     * @return the configuration code
+     * @throws IllegalArgumentException if the add-on count is out of range
+     */
+    private static int configCode(int cupSizeIndex, int addonCount)
+    {
+        if (addonCount < 0 || addonCount > MAX_ADDONS) {
+            throw new IllegalArgumentException("Invalid Add-on Count: " + addonCount);
+        }
+        return cupSizeIndex * ADDON_SLOTS + addonCount;
+    }
+
+    /**
+     * Computes the price of every cup size and add-on combination from the base, size, and add-on prices.
+     *
+     * @return the price table, indexed by configuration code
+     */
+    private static long[] buildPriceTable()
+    {
+        long[] table = new long[CONFIG_CODE_COUNT];
+        for (CupSize size : CupSize.values()) {
+            for (int addons = 0; addons <= MAX_ADDONS; addons++) {
+                table[configCode(size.ordinal(), addons)] = BASE_PRICE_CENTS
+                        + size.ordinal() * SIZE_INCREMENT_PRICE_CENTS
+                        + addons * ADDON_PRICE_CENTS;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Builds the display label of the coffee order, including cup size and number of added flavors.
+     *
+     * @return a string detailing the coffee size and add-ons
+     */
+    @Override
+    protected String buildLabel()
+    {
+        return "Coffee: Size-" + cupSize.name() + ", Added Flavors-" + addonCount;
+    }
+
+    /**
+     * Compares this Coffee with another object for equality (same cup size and add-on count).
+     *
+     * @param obj the object to compare with
+     * @return true if the given object is a Coffee with the same configuration, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return configCode == ((Coffee) obj).configCode;
+    }
+
+    /**
+     * Returns a hash code value for the coffee, derived from its configuration code.
+     *
+     * @return a hash code value for this coffee
+     */
+    @Override
+    public int hashCode() {
+        return configCode;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,392 @@
+package com.softmeth.project5;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory order history stored column by column in parallel primitive arrays.
+ * Each order has a slot holding its number, the time it was placed, its cached totals and the range
+ * of its rows; an index maps each order number to its slot. Each order line is a row holding an
+ * item kind code, the item's packed configuration, its unit price in cents and its quantity, and
+ * the rows of an order are stored next to each other.
+ * Scans such as the total of one order or the units of one kind of item sold in a time range are
+ * plain loops over contiguous arrays: the time range is matched against the slots' timestamps and
+ * only the rows of matching orders are read. No MenuItem is touched and no price() is called; items
+ * are only rebuilt, as the shared MenuItems instances, when an order is opened.
+ * Cancelled orders keep their slot and rows, marked as cancelled, so other orders never move.
+ * All methods are synchronized on the history.
+ *
+ * @author Ridwan Sharkar
+ */
+public class ColumnarOrderHistory implements OrderHistoryStore
+{
+    private static final int INITIAL_ORDERS = 64;
+    private static final int INITIAL_LINES = 256;
+    private static final byte KIND_COFFEE = (byte) ItemKind.COFFEE.ordinal();
+    private static final byte KIND_DONUT = (byte) ItemKind.DONUT.ordinal();
+    private static final byte KIND_SANDWICH = (byte) ItemKind.SANDWICH.ordinal();
+
+    // Order columns, one entry per order slot.
+    private int orderSlots;
+    private int liveOrders;
+    private int[] orderNumbers = new int[INITIAL_ORDERS];
+    private long[] orderPlacedAtMillis = new long[INITIAL_ORDERS];
+    private int[] firstRows = new int[INITIAL_ORDERS];
+    private int[] rowCounts = new int[INITIAL_ORDERS];
+    private int[] itemCounts = new int[INITIAL_ORDERS];
+    private long[] subtotalsCents = new long[INITIAL_ORDERS];
+    private boolean[] cancelledOrders = new boolean[INITIAL_ORDERS];
+    private final OrderNumberIndex slotsByOrderNumber = new OrderNumberIndex(INITIAL_ORDERS);
+
+    // Line columns, one entry per row.
+    private int rows;
+    private byte[] rowKinds = new byte[INITIAL_LINES];
+    private int[] rowConfigs = new int[INITIAL_LINES];
+    private long[] rowUnitPricesCents = new long[INITIAL_LINES];
+    private int[] rowQuantities = new int[INITIAL_LINES];
+
+    // Donuts have no packed code, so each distinct donut is given one here.
+    private final List<Donut> donutsByCode = new ArrayList<>();
+    private final Map<Donut, Integer> donutCodes = new HashMap<>();
+    /*============================================================================================*/
+
+    /**
+     * Constructs an empty history.
+     */
+    public ColumnarOrderHistory()
+    {
+    }
+
+    /**
+     * Counts the orders that have been placed and not cancelled.
+     *
+     * @return the number of orders in the history
+     */
+    @Override
+    public synchronized int getOrderCount() {
+        return liveOrders;
+    }
+
+    /**
+     * Gets a page of order headers, oldest first.
+     *
+     * @param offset the index of the first header to return
+     * @param limit  the most headers to return
+     * @return the headers in the requested range; empty if the offset is past the end
+     */
+    @Override
+    public synchronized List<OrderHeader> getHeaders(int offset, int limit) {
+        int from = Math.min(Math.max(offset, 0), liveOrders);
+        int count = Math.min(Math.max(limit, 0), liveOrders - from);
+        List<OrderHeader> page = new ArrayList<>(count);
+        int slot = 0;
+        if (liveOrders == orderSlots) {
+            slot = from;
+        } else {
+            for (int skipped = 0; skipped < from; slot++) {
+                if (!cancelledOrders[slot]) {
+                    skipped++;
+                }
+            }
+        }
+        for (; page.size() < count; slot++) {
+            if (!cancelledOrders[slot]) {
+                page.add(header(slot));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Gets a page of the headers of orders numbered after a given order, oldest first.
+     * Cancelled slots keep their order numbers, so the first slot after the order is found by a
+     * binary search over the order number column.
+     *
+     * @param orderNumber the number of the last order already listed, or 0 for the first page
+     * @param limit       the most headers to return
+     * @return the headers of the first orders numbered above orderNumber
+     */
+    @Override
+    public synchronized List<OrderHeader> getHeadersAfter(int orderNumber, int limit) {
+        int low = 0;
+        int high = orderSlots;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (orderNumbers[mid] <= orderNumber) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<OrderHeader> page = new ArrayList<>(Math.max(Math.min(limit, liveOrders), 0));
+        for (int slot = low; slot < orderSlots && page.size() < limit; slot++) {
+            if (!cancelledOrders[slot]) {
+                page.add(header(slot));
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Finds the header of an order by its number.
+     *
+     * @param orderNumber the number of the order
+     * @return the order's header, or null if no such order is in the history
+     */
+    @Override
+    public synchronized OrderHeader findHeader(int orderNumber) {
+        int slot = slotsByOrderNumber.get(orderNumber);
+        return slot == OrderNumberIndex.MISSING ? null : header(slot);
+    }
+
+    /**
+     * Opens an order, rebuilding its lines from their rows.
+     *
+     * @param header the header of the order to open
+     * @return the full order
+     * @throws IllegalArgumentException if the order is not in the history
+     */
+    @Override
+    public synchronized PlacedOrder getOrder(OrderHeader header) {
+        return order(slotOf(header.getOrderNumber()));
+    }
+
+    /**
+     * Rebuilds every order that has not been cancelled from the columns, oldest first.
+     *
+     * @return the orders in the history
+     */
+    @Override
+    public synchronized List<PlacedOrder> loadOrders() {
+        List<PlacedOrder> orders = new ArrayList<>(liveOrders);
+        for (int slot = 0; slot < orderSlots; slot++) {
+            if (!cancelledOrders[slot]) {
+                orders.add(order(slot));
+            }
+        }
+        return orders;
+    }
+
+    private PlacedOrder order(int slot) {
+        int first = firstRows[slot];
+        List<OrderLine> lines = new ArrayList<>(rowCounts[slot]);
+        for (int row = first, end = first + rowCounts[slot]; row < end; row++) {
+            lines.add(new OrderLine(item(row), rowQuantities[row]));
+        }
+        return new PlacedOrder(orderNumbers[slot], orderPlacedAtMillis[slot], lines, subtotalsCents[slot]);
+    }
+
+    /**
+     * Records a newly placed order, appending one row per line.
+     *
+     * @param order the order that was placed
+     * @return the header of the recorded order
+     * @throws IllegalArgumentException if an order with the same number is already in the history
+     */
+    @Override
+    public synchronized OrderHeader add(PlacedOrder order) {
+        int orderNumber = order.getOrderNumber();
+        if (slotsByOrderNumber.get(orderNumber) != OrderNumberIndex.MISSING) {
+            throw new IllegalArgumentException("Duplicate Order Number: " + orderNumber);
+        }
+        List<OrderLine> lines = order.getLines();
+        ensureOrderCapacity(orderSlots + 1);
+        ensureRowCapacity(rows + lines.size());
+        int slot = orderSlots++;
+        orderNumbers[slot] = orderNumber;
+        orderPlacedAtMillis[slot] = order.getPlacedAtMillis();
+        firstRows[slot] = rows;
+        rowCounts[slot] = lines.size();
+        itemCounts[slot] = order.getItemCount();
+        subtotalsCents[slot] = order.getSubtotalCents();
+        for (int i = 0, n = lines.size(); i < n; i++) {
+            OrderLine line = lines.get(i);
+            MenuItem item = line.getItem();
+            int row = rows++;
+            rowKinds[row] = (byte) ItemKind.of(item).ordinal();
+            rowConfigs[row] = configOf(item);
+            rowUnitPricesCents[row] = item.priceCents();
+            rowQuantities[row] = line.getQuantity();
+        }
+        slotsByOrderNumber.put(orderNumber, slot);
+        liveOrders++;
+        return header(slot);
+    }
+
+    /**
+     * Cancels a previously placed order, marking its slot as cancelled.
+     * Cancelling an order that is not in the history does nothing.
+     *
+     * @param orderNumber the number of the order to cancel
+     */
+    @Override
+    public synchronized void cancel(int orderNumber) {
+        int slot = slotsByOrderNumber.remove(orderNumber);
+        if (slot == OrderNumberIndex.MISSING) {
+            return;
+        }
+        cancelledOrders[slot] = true;
+        liveOrders--;
+    }
+
+    /**
+     * Does nothing; the history is held in memory only.
+     */
+    @Override
+    public void sync() {
+    }
+
+    /**
+     * Adds up the lines of an order from its rows.
+     *
+     * @param orderNumber the number of the order
+     * @return the subtotal of the order, in cents, or -1 if it is not in the history
+     */
+    public synchronized long sumOrderCents(int orderNumber) {
+        int slot = slotsByOrderNumber.get(orderNumber);
+        if (slot == OrderNumberIndex.MISSING) {
+            return -1;
+        }
+        long total = 0;
+        for (int row = firstRows[slot], end = row + rowCounts[slot]; row < end; row++) {
+            total += rowUnitPricesCents[row] * rowQuantities[row];
+        }
+        return total;
+    }
+
+    /**
+     * Counts the items of one kind sold in orders placed within a time range, e.g. all sandwiches today.
+     *
+     * @param kind       the kind of item
+     * @param fromMillis the start of the range, inclusive, in milliseconds since the epoch
+     * @param toMillis   the end of the range, exclusive, in milliseconds since the epoch
+     * @return the units sold
+     */
+    public synchronized long countUnits(ItemKind kind, long fromMillis, long toMillis) {
+        byte code = (byte) kind.ordinal();
+        long units = 0;
+        for (int slot = 0; slot < orderSlots; slot++) {
+            long placedAt = orderPlacedAtMillis[slot];
+            if (placedAt < fromMillis || placedAt >= toMillis || cancelledOrders[slot]) {
+                continue;
+            }
+            for (int row = firstRows[slot], end = row + rowCounts[slot]; row < end; row++) {
+                if (rowKinds[row] == code) {
+                    units += rowQuantities[row];
+                }
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Adds up the revenue from items of one kind sold in orders placed within a time range.
+     *
+     * @param kind       the kind of item
+     * @param fromMillis the start of the range, inclusive, in milliseconds since the epoch
+     * @param toMillis   the end of the range, exclusive, in milliseconds since the epoch
+     * @return the revenue, in cents
+     */
+    public synchronized long sumRevenueCents(ItemKind kind, long fromMillis, long toMillis) {
+        byte code = (byte) kind.ordinal();
+        long revenue = 0;
+        for (int slot = 0; slot < orderSlots; slot++) {
+            long placedAt = orderPlacedAtMillis[slot];
+            if (placedAt < fromMillis || placedAt >= toMillis || cancelledOrders[slot]) {
+                continue;
+            }
+            for (int row = firstRows[slot], end = row + rowCounts[slot]; row < end; row++) {
+                if (rowKinds[row] == code) {
+                    revenue += rowUnitPricesCents[row] * rowQuantities[row];
+                }
+            }
+        }
+        return revenue;
+    }
+
+    /**
+     * Counts the rows stored, including those of cancelled orders.
+     *
+     * @return the number of line rows
+     */
+    public synchronized int getRowCount() {
+        return rows;
+    }
+
+    private OrderHeader header(int slot) {
+        return new OrderHeader(orderNumbers[slot], orderPlacedAtMillis[slot], itemCounts[slot],
+                subtotalsCents[slot], OrderHeader.NOT_LOGGED);
+    }
+
+    private int slotOf(int orderNumber) {
+        int slot = slotsByOrderNumber.get(orderNumber);
+        if (slot == OrderNumberIndex.MISSING) {
+            throw new IllegalArgumentException("Unknown Order: " + orderNumber);
+        }
+        return slot;
+    }
+
+    private int configOf(MenuItem item) {
+        if (item instanceof Coffee) {
+            return ((Coffee) item).getPackedCode();
+        }
+        if (item instanceof Sandwich) {
+            return ((Sandwich) item).getPackedCode();
+        }
+        Donut donut = (Donut) item;
+        Integer code = donutCodes.get(donut);
+        if (code == null) {
+            code = donutsByCode.size();
+            Donut shared = MenuItems.intern(donut);
+            donutsByCode.add(shared);
+            donutCodes.put(shared, code);
+        }
+        return code;
+    }
+
+    private MenuItem item(int row) {
+        byte kind = rowKinds[row];
+        if (kind == KIND_COFFEE) {
+            return MenuItems.coffee(rowConfigs[row]);
+        }
+        if (kind == KIND_SANDWICH) {
+            return MenuItems.sandwich(rowConfigs[row]);
+        }
+        if (kind == KIND_DONUT) {
+            return donutsByCode.get(rowConfigs[row]);
+        }
+        throw new IllegalStateException("Unknown Item Kind: " + kind);
+    }
+
+    private void ensureOrderCapacity(int needed) {
+        if (needed <= orderNumbers.length) {
+            return;
+        }
+        int capacity = grow(orderNumbers.length, needed);
+        orderNumbers = Arrays.copyOf(orderNumbers, capacity);
+        orderPlacedAtMillis = Arrays.copyOf(orderPlacedAtMillis, capacity);
+        firstRows = Arrays.copyOf(firstRows, capacity);
+        rowCounts = Arrays.copyOf(rowCounts, capacity);
+        itemCounts = Arrays.copyOf(itemCounts, capacity);
+        subtotalsCents = Arrays.copyOf(subtotalsCents, capacity);
+        cancelledOrders = Arrays.copyOf(cancelledOrders, capacity);
+    }
+
+    private void ensureRowCapacity(int needed) {
+        if (needed <= rowKinds.length) {
+            return;
+        }
+        int capacity = grow(rowKinds.length, needed);
+        rowKinds = Arrays.copyOf(rowKinds, capacity);
+        rowConfigs = Arrays.copyOf(rowConfigs, capacity);
+        rowUnitPricesCents = Arrays.copyOf(rowUnitPricesCents, capacity);
+        rowQuantities = Arrays.copyOf(rowQuantities, capacity);
+    }
+
+    private static int grow(int capacity, int needed) {
+        int grown = capacity + (capacity >> 1);
+        return Math.max(grown, needed);
+    }
+}
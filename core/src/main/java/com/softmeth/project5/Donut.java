@@ -1,5 +1,4 @@
 package com.softmeth.project5;
-import androidx.annotation.NonNull;
 import java.util.Objects;
 
 /**
@@ -14,10 +13,10 @@ public class Donut extends MenuItem
     /**
      * Enum for types of donuts available in the menu.
      */
-    private enum DonutType { YEAST, CAKE, DONUT_HOLE }
-    private static final double YEAST_DONUT_PRICE = 1.79;
-    private static final double CAKE_DONUT_PRICE = 1.89;
-    private static final double DONUT_HOLE_PRICE = 0.39;
+    public enum DonutType { YEAST, CAKE, DONUT_HOLE }
+    private static final long YEAST_DONUT_PRICE_CENTS = 179;
+    private static final long CAKE_DONUT_PRICE_CENTS = 189;
+    private static final long DONUT_HOLE_PRICE_CENTS = 39;
     private final DonutType donutType;
     private final String donutFlavor;
     /*============================================================================================*/
@@ -35,37 +34,56 @@ public class Donut extends MenuItem
     }
 
     /**
-     * Calculates and returns the price of the donut based on only its type.
+     * Gets the type of the donut.
+     *
+     * @return the donut type
+     */
+    public DonutType getDonutType()
+    {
+        return donutType;
+    }
+
+    /**
+     * Gets the flavor of the donut.
+     *
+     * @return the donut flavor
+     */
+    public String getDonutFlavor()
+    {
+        return donutFlavor;
+    }
+
+    /**
+     * Calculates and returns the price of the donut in cents based on only its type.
      * Overwrites Abstract Method in MenuItem
      *
-     * @return the calculated price of the donut
+     * @return the calculated price of the donut, in cents
      */
     @Override
-    public double price()
+    public long priceCents()
     {
         switch (donutType)
         {
             case YEAST:
-                return YEAST_DONUT_PRICE;
+                return YEAST_DONUT_PRICE_CENTS;
             case CAKE:
-                return CAKE_DONUT_PRICE;
+                return CAKE_DONUT_PRICE_CENTS;
             case DONUT_HOLE:
-                return DONUT_HOLE_PRICE;
+                return DONUT_HOLE_PRICE_CENTS;
             default:
                 throw new IllegalStateException("Unknown Donut Type: " + donutType);
         }
     }
 
     /**
-     * Returns a string representation of the donut, including its flavor.
+     * Builds the display label of the donut, including its flavor.
      *
      * @return a string describing the donut's flavor
      */
-    @NonNull
     @Override
-    public String toString()
+    protected String buildLabel()
     {
-        return String.format("Donut: %s", this.donutFlavor);
+        return "Donut: " + donutFlavor;
     }
 
     /**
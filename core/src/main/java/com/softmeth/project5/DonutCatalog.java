@@ -0,0 +1,152 @@
+package com.softmeth.project5;
+import java.util.Locale;
+
+/**
+ * The donuts offered on the donut menu, indexed by their position in the list.
+ * Each entry is resolved once, when the catalog is built: its type, flavor, price, display label,
+ * artwork and the shared Donut instance added to orders. Selecting or pricing a donut is then an
+ * array lookup, with no parsing of the donut's name.
+ *
+ * @author Ridwan Sharkar
+ */
+public class DonutCatalog
+{
+    private final Entry[] entries;
+    /*============================================================================================*/
+
+    /**
+     * A single donut on the menu.
+     */
+    public static final class Entry {
+        private final String name;
+        private final Donut donut;
+        private final String priceLabel;
+        private final int drawableRes;
+
+        private Entry(String name, Donut donut, int drawableRes) {
+            this.name = name;
+            this.donut = donut;
+            this.priceLabel = Money.format(donut.priceCents());
+            this.drawableRes = drawableRes;
+        }
+
+        /**
+         * Gets the display name of the donut, e.g. "Glazed Yeast".
+         *
+         * @return the display name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the type of the donut.
+         *
+         * @return the donut type
+         */
+        public Donut.DonutType getDonutType() {
+            return donut.getDonutType();
+        }
+
+        /**
+         * Gets the flavor of the donut as stored on orders, e.g. "GLAZED_YEAST".
+         *
+         * @return the donut flavor
+         */
+        public String getFlavor() {
+            return donut.getDonutFlavor();
+        }
+
+        /**
+         * Gets the price of one donut, in cents.
+         *
+         * @return the price in cents
+         */
+        public long getPriceCents() {
+            return donut.priceCents();
+        }
+
+        /**
+         * Gets the price of one donut formatted for display, e.g. "$1.79".
+         *
+         * @return the formatted price
+         */
+        public String getPriceLabel() {
+            return priceLabel;
+        }
+
+        /**
+         * Gets the drawable resource showing the donut.
+         *
+         * @return the drawable resource id
+         */
+        public int getDrawableRes() {
+            return drawableRes;
+        }
+
+        /**
+         * Gets the shared Donut instance to add to an order.
+         *
+         * @return the donut
+         */
+        public Donut getDonut() {
+            return donut;
+        }
+    }
+
+    /**
+     * Builds the catalog from the menu's display names, e.g. the itemNames string array.
+     * Each name must end with one of the type labels; the labels are given in the order of
+     * Donut.DonutType, e.g. "Yeast", "Cake", "Donut Hole".
+     *
+     * @param names        the display names of the donuts, in menu order
+     * @param typeLabels   the display label of each donut type, indexed by DonutType ordinal
+     * @param drawableRes  the drawable resource for each donut, in menu order
+     * @throws IllegalArgumentException if the arrays do not line up or a name has no known type
+     */
+    public DonutCatalog(String[] names, String[] typeLabels, int[] drawableRes)
+    {
+        Donut.DonutType[] types = Donut.DonutType.values();
+        if (typeLabels.length != types.length) {
+            throw new IllegalArgumentException("Expected " + types.length + " Donut Type Labels");
+        }
+        if (drawableRes.length != names.length) {
+            throw new IllegalArgumentException("Expected " + names.length + " Donut Images");
+        }
+        this.entries = new Entry[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Donut.DonutType type = typeOf(names[i], typeLabels, types);
+            String flavor = names[i].toUpperCase(Locale.ROOT).replace(' ', '_');
+            entries[i] = new Entry(names[i], MenuItems.donut(type.name(), flavor), drawableRes[i]);
+        }
+    }
+
+    /**
+     * Counts the donuts on the menu.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Gets the donut at a position on the menu.
+     *
+     * @param position the position of the donut
+     * @return the entry at that position
+     * @throws ArrayIndexOutOfBoundsException if the position is not on the menu
+     */
+    public Entry get(int position) {
+        return entries[position];
+    }
+
+    private static Donut.DonutType typeOf(String name, String[] typeLabels, Donut.DonutType[] types) {
+        for (int i = 0; i < types.length; i++) {
+            if (name.endsWith(typeLabels[i])) {
+                return types[i];
+            }
+        }
+        throw new IllegalArgumentException("Unknown Donut Type: " + name);
+    }
+}
@@ -0,0 +1,32 @@
+package com.softmeth.project5;
+
+/**
+ * The kinds of item on the menu, e.g. for reports that break sales down by kind or for storing an
+ * item as a kind code plus a packed configuration.
+ *
+ * @author Ridwan Sharkar
+ */
+public enum ItemKind
+{
+    COFFEE, DONUT, SANDWICH;
+
+    /**
+     * Gets the kind of a menu item.
+     *
+     * @param item the menu item
+     * @return the kind of the item
+     * @throws IllegalArgumentException if the item is not a coffee, donut or sandwich
+     */
+    public static ItemKind of(MenuItem item) {
+        if (item instanceof Coffee) {
+            return COFFEE;
+        }
+        if (item instanceof Donut) {
+            return DONUT;
+        }
+        if (item instanceof Sandwich) {
+            return SANDWICH;
+        }
+        throw new IllegalArgumentException("Unknown Menu Item: " + item);
+    }
+}
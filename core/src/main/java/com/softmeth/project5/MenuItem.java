@@ -0,0 +1,73 @@
+package com.softmeth.project5;
+
+/**
+ * Abstract class representing a general item on the menu in RU Café.
+ * This class is to be extended by specific menu item classes such as Coffee, Donut, and Sandwich.
+ * Prices are kept as whole cents so that sums over many items stay exact.
+ * Menu items are immutable, so each one builds its display label once, on first use, and reuses it.
+ *
+ * @author Ridwan Sharkar
+ */
+
+public abstract class MenuItem
+{
+    private String label;
+
+    /**
+     * Calculates and returns the price of the menu item in cents.
+     * This method must be implemented by each subclass.
+     *
+     * @return the price of the menu item, in cents
+     */
+    public abstract long priceCents();
+
+    /**
+     * Returns the price of the menu item in dollars.
+     * Derived from priceCents(); use the cent value when summing prices.
+     *
+     * @return the price of the menu item
+     */
+    public double price()
+    {
+        return priceCents() / 100.0;
+    }
+
+    /**
+     * Gets the text describing the menu item in lists and order details.
+     * The label is built on first use and cached. Two threads racing on the first call may both
+     * build it, which is harmless since they build equal strings.
+     *
+     * @return the display label of the menu item
+     */
+    public final String getLabel()
+    {
+        String result = label;
+        if (result == null) {
+            result = buildLabel();
+            label = result;
+        }
+        return result;
+    }
+
+    /**
+     * Builds the display label of the menu item. Called at most once per instance in the common case,
+     * so subclasses should build it with plain concatenation rather than String.format.
+     *
+     * @return the display label of the menu item
+     */
+    protected abstract String buildLabel();
+
+    /**
+     * Returns the cached display label of the menu item.
+     *
+     * @return the display label of the menu item
+     */
+    @Override
+    public final String toString()
+    {
+        return getLabel();
+    }
+}
+
+
+
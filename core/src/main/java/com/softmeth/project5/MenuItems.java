@@ -0,0 +1,193 @@
+package com.softmeth.project5;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Canonicalizing factory for menu items.
+ * Coffee, Donut, and Sandwich are immutable, so equal items can safely be shared; this class hands
+ * out one shared instance per configuration instead of allocating a new object for every order.
+ * Coffee and sandwich configurations are fully enumerable and are cached in fixed tables indexed by
+ * their packed code. Donut flavors are free-form strings, so donuts are cached in a bounded table;
+ * once it is full, new flavors are returned without being interned.
+ *
+ * @author Ridwan Sharkar
+ */
+public final class MenuItems
+{
+    /**
+     * The most distinct donuts kept in the intern table.
+     */
+    static final int MAX_INTERNED_DONUTS = 256;
+    private static final AtomicReferenceArray<Coffee> COFFEES =
+            new AtomicReferenceArray<>(Coffee.CONFIG_CODE_COUNT);
+    private static final AtomicReferenceArray<Sandwich> SANDWICHES =
+            new AtomicReferenceArray<>(Sandwich.CONFIG_CODE_COUNT);
+    private static final ConcurrentMap<Donut, Donut> DONUTS = new ConcurrentHashMap<>();
+    /*============================================================================================*/
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private MenuItems() {}
+
+    /**
+     * Returns the shared Coffee for the given cup size and add-on count.
+     * The packed code is computed from the arguments, so no Coffee is built once it is cached.
+     *
+     * @param cupSize    the coffee cup size as a string
+     * @param addonCount the number of add-ons
+     * @return the canonical Coffee instance
+     * @throws IllegalArgumentException if the cup size is unknown or the add-on count is out of range
+     */
+    public static Coffee coffee(String cupSize, int addonCount)
+    {
+        return coffee(Coffee.packCode(cupSize, addonCount));
+    }
+
+    /**
+     * Returns the shared Coffee for a packed configuration code.
+     *
+     * @param packedCode a code returned by Coffee.getPackedCode()
+     * @return the canonical Coffee instance
+     * @throws IllegalArgumentException if the code is out of range
+     */
+    public static Coffee coffee(int packedCode)
+    {
+        if (packedCode < 0 || packedCode >= Coffee.CONFIG_CODE_COUNT) {
+            throw new IllegalArgumentException("Invalid Coffee Code: " + packedCode);
+        }
+        Coffee coffee = COFFEES.get(packedCode);
+        return coffee != null ? coffee : intern(Coffee.fromPackedCode(packedCode));
+    }
+
+    /**
+     * Returns the shared Donut for the given type and flavor, if the intern table has room for it.
+     *
+     * @param donutType   the type of the donut as a string
+     * @param donutFlavor the flavor of the donut
+     * @return the canonical Donut instance, or a new equal instance once the table is full
+     */
+    public static Donut donut(String donutType, String donutFlavor)
+    {
+        return intern(new Donut(donutType, donutFlavor));
+    }
+
+    /**
+     * Returns the shared Sandwich for the given meat, bread, and add-on selection.
+     *
+     * @param meatChoice  the chosen meat
+     * @param breadChoice the chosen bread
+     * @param addOnMask   the selected add-ons as a combination of Sandwich.AddOns mask bits
+     * @return the canonical Sandwich instance
+     */
+    public static Sandwich sandwich(Sandwich.MeatChoice meatChoice, Sandwich.BreadChoice breadChoice, int addOnMask)
+    {
+        return sandwich(Sandwich.packCode(meatChoice, breadChoice, addOnMask));
+    }
+
+    /**
+     * Returns the shared Sandwich for a packed configuration code.
+     *
+     * @param packedCode a code returned by Sandwich.getPackedCode()
+     * @return the canonical Sandwich instance
+     * @throws IllegalArgumentException if the code is out of range
+     */
+    public static Sandwich sandwich(int packedCode)
+    {
+        if (packedCode < 0 || packedCode >= Sandwich.CONFIG_CODE_COUNT) {
+            throw new IllegalArgumentException("Invalid Sandwich Code: " + packedCode);
+        }
+        Sandwich sandwich = SANDWICHES.get(packedCode);
+        return sandwich != null ? sandwich : intern(Sandwich.fromPackedCode(packedCode));
+    }
+
+    /**
+     * Returns the shared Sandwich for the given meat, bread label, and add-on names.
+     * The packed code is computed from the arguments, so no Sandwich is built once it is cached.
+     *
+     * @param meatChoice a string representing the choice of meat
+     * @param breadLabel a string label for the type of bread, e.g. "Wheat Toast"
+     * @param addOns     a list of strings representing the add-ons
+     * @return the canonical Sandwich instance
+     * @throws IllegalArgumentException if any string does not name a known choice
+     */
+    public static Sandwich sandwich(String meatChoice, String breadLabel, List<String> addOns)
+    {
+        return sandwich(Sandwich.packCode(meatChoice, breadLabel, addOns));
+    }
+
+    /**
+     * Returns the shared instance equal to the given coffee, registering it if it is the first.
+     *
+     * @param coffee the coffee to canonicalize
+     * @return the canonical Coffee instance
+     */
+    public static Coffee intern(Coffee coffee)
+    {
+        int code = coffee.getPackedCode();
+        return COFFEES.compareAndSet(code, null, coffee) ? coffee : COFFEES.get(code);
+    }
+
+    /**
+     * Returns the shared instance equal to the given sandwich, registering it if it is the first.
+     *
+     * @param sandwich the sandwich to canonicalize
+     * @return the canonical Sandwich instance
+     */
+    public static Sandwich intern(Sandwich sandwich)
+    {
+        int code = sandwich.getPackedCode();
+        return SANDWICHES.compareAndSet(code, null, sandwich) ? sandwich : SANDWICHES.get(code);
+    }
+
+    /**
+     * Returns the shared instance equal to the given donut, registering it if the table has room.
+     *
+     * @param donut the donut to canonicalize
+     * @return the canonical Donut instance, or the given donut once the table is full
+     */
+    public static Donut intern(Donut donut)
+    {
+        Donut shared = DONUTS.get(donut);
+        if (shared != null) {
+            return shared;
+        }
+        if (DONUTS.size() >= MAX_INTERNED_DONUTS) {
+            return donut;
+        }
+        shared = DONUTS.putIfAbsent(donut, donut);
+        return shared != null ? shared : donut;
+    }
+
+    /**
+     * Returns the shared instance equal to the given menu item, dispatching on its type.
+     *
+     * @param item the menu item to canonicalize
+     * @return the canonical instance, or the given item if its type is not interned
+     */
+    public static MenuItem intern(MenuItem item)
+    {
+        if (item instanceof Coffee) {
+            return intern((Coffee) item);
+        }
+        if (item instanceof Donut) {
+            return intern((Donut) item);
+        }
+        if (item instanceof Sandwich) {
+            return intern((Sandwich) item);
+        }
+        return item;
+    }
+
+    /**
+     * Counts the donuts currently held in the intern table.
+     *
+     * @return the number of interned donuts
+     */
+    static int internedDonutCount()
+    {
+        return DONUTS.size();
+    }
+}
@@ -0,0 +1,451 @@
+package com.softmeth.project5;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A registry of named counters and latency histograms for the ordering hot paths and OrderService.
+ * Counters are LongAdders and histograms count into fixed log-linear buckets, so recording never
+ * takes a lock or allocates; timing an operation costs two clock reads on top of that. While the
+ * registry is disabled, recording is a single volatile read: start() returns without reading the
+ * clock and every record is dropped.
+ * The registry can be dumped as text or JSON, e.g. to a file on a kiosk.
+ *
+ * @author Ridwan Sharkar
+ */
+public final class MetricsRegistry
+{
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    /*============================================================================================*/
+
+    /**
+     * A counter that many threads can increment without contending on a single variable.
+     */
+    public static final class Counter {
+        private final MetricsRegistry registry;
+        private final LongAdder count = new LongAdder();
+
+        private Counter(MetricsRegistry registry) {
+            this.registry = registry;
+        }
+
+        /**
+         * Adds one to the counter, if the registry is enabled.
+         */
+        public void increment() {
+            if (registry.enabled) {
+                count.increment();
+            }
+        }
+
+        /**
+         * Adds to the counter, if the registry is enabled.
+         *
+         * @param amount the amount to add
+         */
+        public void add(long amount) {
+            if (registry.enabled) {
+                count.add(amount);
+            }
+        }
+
+        /**
+         * Gets the current count.
+         *
+         * @return the sum of everything added since the last reset
+         */
+        public long get() {
+            return count.sum();
+        }
+
+        private void reset() {
+            count.reset();
+        }
+    }
+
+    /**
+     * A latency histogram in the style of HdrHistogram: values are counted in buckets that double
+     * in width every power of two, each split into SUB_BUCKETS linear sub-buckets, so any recorded
+     * value is known to within 1/SUB_BUCKETS of itself. Values above MAX_TRACKABLE_NANOS are counted
+     * in the last bucket.
+     */
+    public static final class Histogram {
+        /**
+         * Sub-buckets per power of two, bounding the relative error of a percentile to 12.5%.
+         */
+        static final int SUB_BUCKETS = 8;
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int MAX_EXPONENT = 44;
+        /**
+         * Largest value counted in its own bucket, about 4.9 hours.
+         */
+        static final long MAX_TRACKABLE_NANOS = (1L << (MAX_EXPONENT + 1)) - 1;
+        private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+        private static final long DISABLED = Long.MIN_VALUE;
+        private final MetricsRegistry registry;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Histogram(MetricsRegistry registry) {
+            this.registry = registry;
+        }
+
+        /**
+         * Starts timing an operation.
+         *
+         * @return the start time to pass to stop(); a marker that stop() ignores if the registry is disabled
+         */
+        public long start() {
+            return registry.enabled ? System.nanoTime() : DISABLED;
+        }
+
+        /**
+         * Records the time since start() was called.
+         *
+         * @param startNanos the value returned by start()
+         */
+        public void stop(long startNanos) {
+            if (startNanos != DISABLED) {
+                recordValue(System.nanoTime() - startNanos);
+            }
+        }
+
+        /**
+         * Records a latency, if the registry is enabled.
+         *
+         * @param nanos the latency, in nanoseconds
+         */
+        public void record(long nanos) {
+            if (registry.enabled) {
+                recordValue(nanos);
+            }
+        }
+
+        /**
+         * Counts the values recorded.
+         *
+         * @return the number of values recorded since the last reset
+         */
+        public long getCount() {
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                total += buckets.get(i);
+            }
+            return total;
+        }
+
+        /**
+         * Gets the mean of the values recorded.
+         *
+         * @return the mean latency, in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getMeanNanos() {
+            long recorded = getCount();
+            return recorded == 0 ? 0 : totalNanos.sum() / recorded;
+        }
+
+        /**
+         * Gets the largest value recorded.
+         *
+         * @return the maximum latency, in nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        /**
+         * Gets the value below which the given percentage of the recorded values fall.
+         * The result is the highest value of the bucket holding that percentile, capped at the maximum.
+         *
+         * @param percentile the percentile, from 0 to 100
+         * @return the latency at the percentile, in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getPercentileNanos(double percentile) {
+            long[] snapshot = new long[BUCKET_COUNT];
+            long total = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                snapshot[i] = buckets.get(i);
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), getMaxNanos());
+                }
+            }
+            return getMaxNanos();
+        }
+
+        private void recordValue(long nanos) {
+            long value = Math.max(nanos, 0);
+            buckets.incrementAndGet(bucketIndex(value));
+            totalNanos.add(value);
+            long max = maxNanos.get();
+            while (value > max && !maxNanos.compareAndSet(max, value)) {
+                max = maxNanos.get();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets.set(i, 0);
+            }
+            totalNanos.reset();
+            maxNanos.set(0);
+        }
+
+        /**
+         * Finds the bucket of a value: values below SUB_BUCKETS have a bucket each; above that, the
+         * position of the highest set bit picks the power of two and the next bits the sub-bucket.
+         */
+        static int bucketIndex(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            if (value > MAX_TRACKABLE_NANOS) {
+                return BUCKET_COUNT - 1;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        /**
+         * Gets the smallest value counted in a bucket.
+         */
+        static long bucketLowerBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long subBucket = index % SUB_BUCKETS;
+            return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        }
+
+        /**
+         * Gets the largest value counted in a bucket.
+         */
+        static long bucketUpperBound(int index) {
+            return index == BUCKET_COUNT - 1 ? Long.MAX_VALUE : bucketLowerBound(index + 1) - 1;
+        }
+    }
+
+    /**
+     * Constructs an empty, disabled registry.
+     */
+    public MetricsRegistry()
+    {
+    }
+
+    /**
+     * Gets the registry the ordering code records into.
+     *
+     * @return the shared registry
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets the counter with the given name, creating it if needed.
+     *
+     * @param name the name of the counter, e.g. "order.placed"
+     * @return the counter
+     */
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            Counter created = new Counter(this);
+            counter = counters.putIfAbsent(name, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Gets the histogram with the given name, creating it if needed.
+     *
+     * @param name the name of the histogram, e.g. "order.addItem"
+     * @return the histogram
+     */
+    public Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            Histogram created = new Histogram(this);
+            histogram = histograms.putIfAbsent(name, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Checks whether the counters and histograms are recording.
+     *
+     * @return true if recording is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. The values recorded so far are kept.
+     *
+     * @param enabled true to record, false to drop every record
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sets every counter and histogram back to zero.
+     */
+    public void reset() {
+        for (Counter counter : counters.values()) {
+            counter.reset();
+        }
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Writes every counter and histogram as text, one per line, sorted by name.
+     * Histograms are written as their count, mean, 50th, 90th, 99th and 99.9th percentiles and maximum.
+     *
+     * @param out where to write the text
+     * @throws IOException if the text cannot be written
+     */
+    public void writeText(Appendable out) throws IOException {
+        for (String name : sorted(counters.keySet())) {
+            out.append(name).append(' ').append(Long.toString(counters.get(name).get())).append('\n');
+        }
+        for (String name : sorted(histograms.keySet())) {
+            Histogram histogram = histograms.get(name);
+            out.append(name)
+                    .append(" count=").append(Long.toString(histogram.getCount()))
+                    .append(" mean=").append(Long.toString(histogram.getMeanNanos())).append("ns")
+                    .append(" p50=").append(Long.toString(histogram.getPercentileNanos(50))).append("ns")
+                    .append(" p90=").append(Long.toString(histogram.getPercentileNanos(90))).append("ns")
+                    .append(" p99=").append(Long.toString(histogram.getPercentileNanos(99))).append("ns")
+                    .append(" p99.9=").append(Long.toString(histogram.getPercentileNanos(99.9))).append("ns")
+                    .append(" max=").append(Long.toString(histogram.getMaxNanos())).append("ns\n");
+        }
+    }
+
+    /**
+     * Writes every counter and histogram as a JSON object with "counters" and "histograms" members,
+     * sorted by name. Histogram latencies are in nanoseconds.
+     *
+     * @param out where to write the JSON
+     * @throws IOException if the JSON cannot be written
+     */
+    public void writeJson(Appendable out) throws IOException {
+        out.append("{\"enabled\":").append(Boolean.toString(enabled)).append(",\"counters\":{");
+        String separator = "";
+        for (String name : sorted(counters.keySet())) {
+            out.append(separator).append(quote(name)).append(':')
+                    .append(Long.toString(counters.get(name).get()));
+            separator = ",";
+        }
+        out.append("},\"histograms\":{");
+        separator = "";
+        for (String name : sorted(histograms.keySet())) {
+            Histogram histogram = histograms.get(name);
+            out.append(separator).append(quote(name))
+                    .append(":{\"count\":").append(Long.toString(histogram.getCount()))
+                    .append(",\"meanNanos\":").append(Long.toString(histogram.getMeanNanos()))
+                    .append(",\"p50Nanos\":").append(Long.toString(histogram.getPercentileNanos(50)))
+                    .append(",\"p90Nanos\":").append(Long.toString(histogram.getPercentileNanos(90)))
+                    .append(",\"p99Nanos\":").append(Long.toString(histogram.getPercentileNanos(99)))
+                    .append(",\"p999Nanos\":").append(Long.toString(histogram.getPercentileNanos(99.9)))
+                    .append(",\"maxNanos\":").append(Long.toString(histogram.getMaxNanos())).append('}');
+            separator = ",";
+        }
+        out.append("}}\n");
+    }
+
+    /**
+     * Writes the registry to a file, replacing it. The dump is written to a temporary file next to
+     * it first, so a reader never sees a half-written dump.
+     *
+     * @param file the file to write
+     * @param json true to write JSON, false to write text
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(File file, boolean json) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            if (json) {
+                writeJson(out);
+            } else {
+                writeText(out);
+            }
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Could not replace " + file);
+        }
+    }
+
+    /**
+     * Returns the registry as text, see writeText().
+     *
+     * @return the text dump
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        try {
+            writeText(text);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return text.toString();
+    }
+
+    private static List<String> sorted(Set<String> names) {
+        List<String> list = new ArrayList<>(names);
+        Collections.sort(list);
+        return list;
+    }
+
+    private static String quote(String name) {
+        StringBuilder quoted = new StringBuilder(name.length() + 2).append('"');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.softmeth.project5;
+
+/**
+ * Helpers for working with money amounts stored as whole cents.
+ *
+ * @author Ridwan Sharkar
+ */
+public final class Money
+{
+    private static final int CENTS_PER_DOLLAR = 100;
+    /*============================================================================================*/
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private Money() {}
+
+    /**
+     * Formats an amount in cents as a dollar string, e.g. 179 becomes "$1.79".
+     *
+     * @param cents the amount in cents
+     * @return the formatted dollar amount
+     */
+    public static String format(long cents)
+    {
+        StringBuilder builder = new StringBuilder(12);
+        if (cents < 0) {
+            builder.append('-');
+            cents = -cents;
+        }
+        long remainder = cents % CENTS_PER_DOLLAR;
+        builder.append('$').append(cents / CENTS_PER_DOLLAR).append('.');
+        if (remainder < 10) {
+            builder.append('0');
+        }
+        return builder.append(remainder).toString();
+    }
+
+    /**
+     * Applies a rate given in basis points (1/100 of a percent) to an amount in cents,
+     * rounding half up to the nearest cent.
+     *
+     * @param cents       the amount in cents
+     * @param basisPoints the rate in basis points, e.g. 700 for 7%
+     * @return the rounded result in cents
+     */
+    public static long applyRate(long cents, int basisPoints)
+    {
+        return (cents * basisPoints + 5_000) / 10_000;
+    }
+}
@@ -0,0 +1,584 @@
+package com.softmeth.project5;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Manages orders in the RU Café system. Each order is unique and contains a list of order lines.
+ * This class uses a singleton pattern to ensure only one instance of the order exists at a time.
+ * Each line holds a MenuItem, which can be a donut, coffee, or sandwich, and the quantity ordered;
+ * equal items are merged into a single line instead of being stored once per unit.
+ * <p>
+ * The order is safe to use from several threads without a global lock. Each line is updated with a
+ * compare-and-set on a concurrent map, the subtotal is an atomic counter, and tax and total are
+ * derived from a single read of the subtotal. Placing an order seals it: after sealAndReset()
+ * returns, the sealed order never changes again, and items added to it afterwards go to the
+ * order that replaced it. Callers should not hold on to an Order across a placement; use
+ * getInstance() or a totals listener, which follows the current order.
+ *
+ * @author Ridwan Sharkar
+ */
+public class Order
+{
+    /**
+     * Sales tax rate applied to the subtotal of every order, in basis points (1/100 of a percent).
+     */
+    public static final int TAX_RATE_BASIS_POINTS = 700;
+    /**
+     * Sales tax rate applied to the subtotal of every order.
+     */
+    public static final double TAX_RATE = TAX_RATE_BASIS_POINTS / 10_000.0;
+    private static final int SEALED = Integer.MIN_VALUE;
+    private static final AtomicInteger nextOrderNumber = new AtomicInteger(1);
+    private static final AtomicReference<Order> instance = new AtomicReference<>();
+    private static final Object PLACE_LOCK = new Object();
+    private static final MetricsRegistry.Histogram ADD_ITEM_NANOS = MetricsRegistry.getDefault().histogram("order.addItem");
+    private static final MetricsRegistry.Histogram ADD_LINES_NANOS = MetricsRegistry.getDefault().histogram("order.addLines");
+    private static final MetricsRegistry.Histogram REMOVE_ITEM_NANOS = MetricsRegistry.getDefault().histogram("order.removeItem");
+    private static final MetricsRegistry.Histogram PRICE_ITEM_NANOS = MetricsRegistry.getDefault().histogram("order.priceItem");
+    private static final MetricsRegistry.Histogram PLACE_NANOS = MetricsRegistry.getDefault().histogram("order.place");
+    private static final MetricsRegistry.Counter UNITS_ADDED = MetricsRegistry.getDefault().counter("order.unitsAdded");
+    private static final MetricsRegistry.Counter ORDERS_PLACED = MetricsRegistry.getDefault().counter("order.placed");
+    private static final MetricsRegistry.Counter PLACE_FAILURES = MetricsRegistry.getDefault().counter("order.placeFailed");
+    private final int orderNumber;
+    private final ConcurrentHashMap<MenuItem, Slot> lines;
+    private final AtomicLong nextSequence;
+    private final AtomicLong subtotalCents;
+    private final AtomicInteger state;
+    private final CopyOnWriteArrayList<OnTotalsChangedListener> listeners;
+
+    /**
+     * Interface for observing changes to the running totals of an order.
+     * Every change to the order's lines changes its totals, so this is also the order's line change event.
+     * A listener registered on the current order moves to the fresh order when it is placed or
+     * reset, and is notified once with the fresh order.
+     */
+    public interface OnTotalsChangedListener {
+        void onTotalsChanged(Order order);
+    }
+
+    /**
+     * An order line together with the sequence number of the add that created it, so lines can be
+     * listed in the order their items were first added.
+     */
+    private static final class Slot {
+        private final long sequence;
+        private final OrderLine line;
+
+        private Slot(long sequence, OrderLine line) {
+            this.sequence = sequence;
+            this.line = line;
+        }
+    }
+
+    private static final Comparator<Slot> BY_SEQUENCE = (a, b) -> Long.compare(a.sequence, b.sequence);
+
+    /**
+     * Returns the singleton instance of the Order.
+     * If the instance does not exist, it creates a new one. If several threads race to create it,
+     * one instance wins and the others are discarded, which may skip an order number.
+     *
+     * @return the singleton instance of the Order
+     */
+    public static Order getInstance()
+    {
+        Order current = instance.get();
+        if (current == null)
+        {
+            Order created = new Order();
+            current = instance.compareAndSet(null, created) ? created : instance.get();
+        }
+        return current;
+    }
+
+    /**
+     * Private constructor to prevent instantiation from outside.
+     * Initializes the order with a unique number and no order lines.
+     */
+    private Order()
+    {
+        this.orderNumber = nextOrderNumber.getAndIncrement();
+        this.lines = new ConcurrentHashMap<>();
+        this.nextSequence = new AtomicLong();
+        this.subtotalCents = new AtomicLong();
+        this.state = new AtomicInteger();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Gets the number identifying this order.
+     *
+     * @return The order number.
+     */
+    public int getOrderNumber() {
+        return orderNumber;
+    }
+
+    /**
+     * Makes sure orders created from now on are numbered above the given number, e.g. the highest
+     * number found in persisted history, so numbers are not reused after a restart.
+     *
+     * @param orderNumber The highest order number already in use.
+     */
+    public static void reserveOrderNumbersThrough(int orderNumber) {
+        int next;
+        do {
+            next = nextOrderNumber.get();
+            if (next > orderNumber) {
+                return;
+            }
+        } while (!nextOrderNumber.compareAndSet(next, orderNumber + 1));
+    }
+
+    /**
+     * Atomically replaces the current order with a fresh one and seals the order it replaced.
+     * Once this returns, no add or remove can change the sealed order any more: operations that
+     * were already running have finished, and later adds go to the fresh order instead.
+     * The fresh order is created after the order it replaces was read, so each current order has a
+     * higher number than the one before it, even when two threads reset at once.
+     *
+     * @return The sealed order, ready to be recorded as placed.
+     */
+    public static Order sealAndReset() {
+        Order sealed;
+        Order fresh;
+        do {
+            sealed = getInstance();
+            fresh = new Order();
+        } while (!instance.compareAndSet(sealed, fresh));
+        sealed.seal();
+        fresh.listeners.addAllAbsent(sealed.listeners);
+        sealed.listeners.clear();
+        fresh.notifyTotalsChanged();
+        return sealed;
+    }
+
+    /**
+     * Places the current order: seals it, records it in the history and installs a fresh order,
+     * as one step. The sealed order's lines are handed to the PlacedOrder without being copied
+     * again, and its running subtotal is reused rather than re-summed.
+     * If the history cannot record the order, its lines are put back into the current order.
+     * Sealing and recording happen under one lock, so orders reach the history in increasing
+     * order-number order even when several threads place orders at once; paging the history by
+     * order number relies on this.
+     * The time to seal and record the order is recorded in the "order.place" histogram.
+     *
+     * @param history        The history to record the placed order in.
+     * @param placedAtMillis The time the order was placed, in milliseconds since the epoch.
+     * @return The placed order, or null if the current order was empty.
+     * @throws IOException if the history could not record the order.
+     */
+    public static PlacedOrder placeOrder(OrderHistoryStore history, long placedAtMillis) throws IOException {
+        if (getInstance().isEmpty()) {
+            return null;
+        }
+        long start = PLACE_NANOS.start();
+        PlacedOrder placed;
+        synchronized (PLACE_LOCK) {
+            Order sealed = sealAndReset();
+            if (sealed.isEmpty()) {
+                return null;
+            }
+            List<OrderLine> lines = sealed.getLines();
+            placed = new PlacedOrder(sealed.orderNumber, placedAtMillis, lines, sealed.getSubtotalCents());
+            try {
+                history.add(placed);
+            } catch (IOException e) {
+                PLACE_FAILURES.increment();
+                getInstance().addLines(lines, placed.getSubtotalCents());
+                throw e;
+            }
+        }
+        PLACE_NANOS.stop(start);
+        ORDERS_PLACED.increment();
+        return placed;
+    }
+
+    /**
+     * Checks whether the order has been sealed by sealAndReset() and can no longer change.
+     *
+     * @return true if the order is sealed, false otherwise
+     */
+    public boolean isSealed() {
+        return (state.get() & SEALED) != 0;
+    }
+
+    /**
+     * Adds a single menu item to the order and updates the running totals.
+     *
+     * @param item The menu item to be added.
+     */
+    public void addItem(MenuItem item) {
+        addItem(item, 1);
+    }
+
+    /**
+     * Adds the given quantity of a menu item to the order and updates the running totals.
+     * If an equal item is already in the order, its line quantity is increased instead of adding a new line.
+     * If the order has already been sealed, the item is added to the order that replaced it.
+     *
+     * @param item     The menu item to be added.
+     * @param quantity The number of units to add.
+     */
+    public void addItem(MenuItem item, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Invalid Quantity: " + quantity);
+        }
+        if (!enter()) {
+            getInstance().addItem(item, quantity);
+            return;
+        }
+        long start = ADD_ITEM_NANOS.start();
+        try {
+            mergeLine(item, quantity, null);
+            long priceStart = PRICE_ITEM_NANOS.start();
+            long addedCents = item.priceCents() * quantity;
+            PRICE_ITEM_NANOS.stop(priceStart);
+            subtotalCents.addAndGet(addedCents);
+        } finally {
+            exit();
+        }
+        ADD_ITEM_NANOS.stop(start);
+        UNITS_ADDED.add(quantity);
+        notifyTotalsChanged();
+    }
+
+    /**
+     * Adds several lines to the order in one step, e.g. a catering order or a past order placed again.
+     * Each line is merged into the order as by addItem(), but the running subtotal is updated once
+     * and the listeners are notified once, after every line has been added. A placement cannot seal
+     * the order halfway through the batch: either all of the lines are in the placed order or none
+     * of them are. Does nothing if there are no lines.
+     *
+     * @param newLines The lines to add; equal items are merged with each other and with the order's lines.
+     */
+    public void addLines(Collection<OrderLine> newLines) {
+        addLines(newLines, -1);
+    }
+
+    /**
+     * Adds every line of a past order to this order, in one step as by addLines(), e.g. when a
+     * regular places the same order again. The past order's items are shared rather than rebuilt,
+     * and its cached subtotal is added to the running subtotal instead of re-pricing every line.
+     *
+     * @param past The order to place again.
+     */
+    public void reorder(PlacedOrder past) {
+        addLines(past.getLines(), past.getSubtotalCents());
+    }
+
+    /**
+     * Adds several lines in one step, see addLines().
+     *
+     * @param newLines   The lines to add.
+     * @param totalCents The total price of the lines in cents if already known, or -1 to sum it here.
+     */
+    private void addLines(Collection<OrderLine> newLines, long totalCents) {
+        if (newLines.isEmpty()) {
+            return;
+        }
+        if (!enter()) {
+            getInstance().addLines(newLines, totalCents);
+            return;
+        }
+        long start = ADD_LINES_NANOS.start();
+        long addedCents = 0;
+        int addedUnits = 0;
+        try {
+            for (OrderLine line : newLines) {
+                mergeLine(line.getItem(), line.getQuantity(), line);
+                if (totalCents < 0) {
+                    addedCents += line.priceCents();
+                }
+                addedUnits += line.getQuantity();
+            }
+        } finally {
+            subtotalCents.addAndGet(totalCents < 0 ? addedCents : totalCents);
+            exit();
+        }
+        ADD_LINES_NANOS.stop(start);
+        UNITS_ADDED.add(addedUnits);
+        notifyTotalsChanged();
+    }
+
+    /**
+     * Adds one unit of every item in a collection, in one step as by addLines(). Equal items are
+     * counted into a single line first, so a collection of 500 units of a few items costs a few merges.
+     *
+     * @param items The menu items to add, one unit each.
+     */
+    public void addAll(Collection<? extends MenuItem> items) {
+        Map<MenuItem, Integer> quantities = new LinkedHashMap<>();
+        for (MenuItem item : items) {
+            Integer quantity = quantities.get(item);
+            quantities.put(item, quantity == null ? 1 : quantity + 1);
+        }
+        List<OrderLine> newLines = new ArrayList<>(quantities.size());
+        for (Map.Entry<MenuItem, Integer> entry : quantities.entrySet()) {
+            newLines.add(new OrderLine(entry.getKey(), entry.getValue()));
+        }
+        addLines(newLines);
+    }
+
+    /**
+     * Removes the line holding the given menu item from the order and updates the running totals.
+     * Does nothing if the order has already been sealed.
+     *
+     * @param item The menu item whose line is to be removed.
+     */
+    public void removeItem(MenuItem item) {
+        if (!enter()) {
+            return;
+        }
+        long start = REMOVE_ITEM_NANOS.start();
+        Slot removed;
+        try {
+            removed = lines.remove(item);
+            if (removed != null) {
+                subtotalCents.addAndGet(-removed.line.priceCents());
+            }
+        } finally {
+            exit();
+        }
+        REMOVE_ITEM_NANOS.stop(start);
+        if (removed != null) {
+            notifyTotalsChanged();
+        }
+    }
+
+    /**
+     * Removes a line from the order and updates the running totals.
+     *
+     * @param line The order line to be removed.
+     */
+    public void removeLine(OrderLine line) {
+        removeItem(line.getItem());
+    }
+
+    /**
+     * Returns the total price of all items in the order, before tax.
+     * The value is maintained as items are added and removed, so this is a constant-time read.
+     *
+     * @return Total price of the order.
+     */
+    public double calculateTotal() {
+        return subtotalCents.get() / 100.0;
+    }
+
+    /**
+     * Recalculates the total price in cents by walking every line in the order.
+     * The sum is done in whole cents, so it is exact and allocates nothing per line.
+     * Used to verify the running subtotal; prefer getSubtotalCents() for display.
+     *
+     * @return Total price of the order in cents, summed line by line.
+     */
+    public long recalculateTotalCents() {
+        long total = 0;
+        for (Slot slot : lines.values()) {
+            total += slot.line.priceCents();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the subtotal of the order before tax, in cents.
+     *
+     * @return The subtotal in cents.
+     */
+    public long getSubtotalCents() {
+        return subtotalCents.get();
+    }
+
+    /**
+     * Gets the tax owed on the order's subtotal in cents, rounded half up.
+     *
+     * @return The tax amount in cents.
+     */
+    public long getTaxCents() {
+        return Money.applyRate(subtotalCents.get(), TAX_RATE_BASIS_POINTS);
+    }
+
+    /**
+     * Gets the total of the order including tax, in cents.
+     * Tax is derived from the same read of the subtotal, so the total never mixes two states.
+     *
+     * @return The total amount in cents.
+     */
+    public long getTotalCents() {
+        long subtotal = subtotalCents.get();
+        return subtotal + Money.applyRate(subtotal, TAX_RATE_BASIS_POINTS);
+    }
+
+    /**
+     * Gets the subtotal of the order before tax.
+     *
+     * @return The subtotal.
+     */
+    public double getSubtotal() {
+        return getSubtotalCents() / 100.0;
+    }
+
+    /**
+     * Gets the tax owed on the order's subtotal.
+     *
+     * @return The tax amount.
+     */
+    public double getTax() {
+        return getTaxCents() / 100.0;
+    }
+
+    /**
+     * Gets the total of the order including tax.
+     *
+     * @return The total amount.
+     */
+    public double getTotal() {
+        return getTotalCents() / 100.0;
+    }
+
+    /**
+     * Registers a listener to be notified whenever the order's totals change.
+     * Listeners are called on the thread that changed the order.
+     *
+     * @param listener The listener to register.
+     */
+    public void addOnTotalsChangedListener(OnTotalsChangedListener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Unregisters a previously registered totals listener.
+     *
+     * @param listener The listener to remove.
+     */
+    public void removeOnTotalsChangedListener(OnTotalsChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Merges a quantity of an item into the order's lines, without touching the running subtotal.
+     * If the item is not in the order yet, the given line is stored as is instead of a new one;
+     * order lines are immutable, so they can be shared.
+     * Must be called between enter() and exit().
+     */
+    private void mergeLine(MenuItem item, int quantity, OrderLine line) {
+        while (true) {
+            Slot existing = lines.get(item);
+            if (existing == null) {
+                Slot created = new Slot(nextSequence.getAndIncrement(),
+                        line != null ? line : new OrderLine(item, quantity));
+                if (lines.putIfAbsent(item, created) == null) {
+                    return;
+                }
+            } else {
+                OrderLine merged = existing.line.withQuantity(existing.line.getQuantity() + quantity);
+                if (lines.replace(item, existing, new Slot(existing.sequence, merged))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies the registered listeners that the order's totals changed.
+     */
+    private void notifyTotalsChanged() {
+        for (OnTotalsChangedListener listener : listeners) {
+            listener.onTotalsChanged(this);
+        }
+    }
+
+    /**
+     * Registers an add or remove as in flight, unless the order has been sealed.
+     *
+     * @return true if the caller may change the order and must call exit(), false if it is sealed
+     */
+    private boolean enter() {
+        while (true) {
+            int current = state.get();
+            if ((current & SEALED) != 0) {
+                return false;
+            }
+            if (state.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Marks an add or remove registered by enter() as finished.
+     */
+    private void exit() {
+        state.decrementAndGet();
+    }
+
+    /**
+     * Seals the order against further changes and waits for the changes already in flight to finish.
+     */
+    private void seal() {
+        int current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, current | SEALED));
+        while ((state.get() & ~SEALED) != 0) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Gets the lines of the order, in the order their items were first added.
+     * While other threads are changing the order, the result reflects some of their changes.
+     *
+     * @return The list of order lines.
+     */
+    public List<OrderLine> getLines() {
+        Slot[] slots = lines.values().toArray(new Slot[0]);
+        Arrays.sort(slots, BY_SEQUENCE);
+        List<OrderLine> result = new ArrayList<>(slots.length);
+        for (Slot slot : slots) {
+            result.add(slot.line);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the order has no lines.
+     *
+     * @return true if nothing has been added to the order, false otherwise
+     */
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Counts the units across all lines of the order.
+     *
+     * @return The total quantity of items ordered.
+     */
+    public int getItemCount() {
+        int count = 0;
+        for (Slot slot : lines.values()) {
+            count += slot.line.getQuantity();
+        }
+        return count;
+    }
+
+    /**
+     * Resets the order by creating a new singleton instance.
+     * This method can be used when starting a new order, ensuring the previous order's data is cleared.
+     * The replaced order is sealed, as with sealAndReset().
+     */
+    public void resetOrder() {
+        sealAndReset();
+    }
+}
\ No newline at end of file
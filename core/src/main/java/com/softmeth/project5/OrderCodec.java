@@ -0,0 +1,376 @@
+package com.softmeth.project5;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact, versioned binary encoding of menu items and orders, read and written through ByteBuffers,
+ * e.g. to export orders, pass the current order between screens or store order lines in OrderLog.
+ * Coffee and sandwich configurations are written as their packed codes, which are built from the
+ * enums' ordinals, and donuts as their type's ordinal and flavor; numbers are written as
+ * variable-length integers, so a typical line takes three or four bytes. Decoded items are the
+ * shared instances from MenuItems.
+ * <p>
+ * An encoded order is a version byte, then the order number, placement time and line count,
+ * then each line as an item kind byte, the item and the quantity. Malformed input is reported as
+ * an IOException.
+ *
+ * @author Ridwan Sharkar
+ */
+public final class OrderCodec
+{
+    /**
+     * Version written at the start of every encoded order or list of lines.
+     */
+    public static final byte FORMAT_VERSION = 1;
+    /**
+     * Item kind bytes, written before each item's configuration.
+     */
+    static final byte ITEM_COFFEE = 0;
+    static final byte ITEM_DONUT = 1;
+    static final byte ITEM_SANDWICH = 2;
+    private static final int MAX_VARINT_BYTES = 10;
+    /*============================================================================================*/
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private OrderCodec() {}
+
+    /**
+     * Encodes a placed order into a new array of exactly the right size.
+     *
+     * @param order the order to encode
+     * @return the encoded order
+     */
+    public static byte[] encode(PlacedOrder order) {
+        ByteBuffer out = ByteBuffer.allocate(encodedSize(order));
+        writeOrder(out, order);
+        return out.array();
+    }
+
+    /**
+     * Encodes the lines of the current order, so they can be decoded with readLines() and added
+     * to an order with Order.addLines().
+     *
+     * @param order the order whose lines to encode
+     * @return the encoded lines
+     */
+    public static byte[] encode(Order order) {
+        List<OrderLine> lines = order.getLines();
+        ByteBuffer out = ByteBuffer.allocate(encodedSize(lines));
+        writeLines(out, lines);
+        return out.array();
+    }
+
+    /**
+     * Decodes a placed order encoded by encode() or writeOrder().
+     *
+     * @param bytes the encoded order
+     * @return the decoded order
+     * @throws IOException if the bytes are not a valid encoded order
+     */
+    public static PlacedOrder decode(byte[] bytes) throws IOException {
+        return readOrder(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Counts the bytes writeOrder() takes to encode a placed order.
+     *
+     * @param order the order
+     * @return the encoded size, in bytes
+     */
+    public static int encodedSize(PlacedOrder order) {
+        return varintSize(order.getOrderNumber()) + varintSize(order.getPlacedAtMillis())
+                + encodedSize(order.getLines());
+    }
+
+    /**
+     * Counts the bytes writeLines() takes to encode a list of lines.
+     *
+     * @param lines the lines
+     * @return the encoded size, in bytes
+     */
+    public static int encodedSize(List<OrderLine> lines) {
+        int size = 1 + varintSize(lines.size());
+        for (OrderLine line : lines) {
+            size += itemSize(line.getItem()) + varintSize(line.getQuantity());
+        }
+        return size;
+    }
+
+    /**
+     * Writes a placed order at the buffer's position.
+     *
+     * @param out   the buffer to write to; must have encodedSize(order) bytes remaining
+     * @param order the order to write
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public static void writeOrder(ByteBuffer out, PlacedOrder order) {
+        out.put(FORMAT_VERSION);
+        writeVarint(out, order.getOrderNumber());
+        writeVarint(out, order.getPlacedAtMillis());
+        writeLineList(out, order.getLines());
+    }
+
+    /**
+     * Reads a placed order from the buffer's position. Its subtotal is recomputed from its lines.
+     *
+     * @param in the buffer to read from
+     * @return the decoded order
+     * @throws IOException if the buffer does not hold a valid encoded order
+     */
+    public static PlacedOrder readOrder(ByteBuffer in) throws IOException {
+        try {
+            checkVersion(in);
+            int orderNumber = readInt(in);
+            long placedAtMillis = readVarint(in);
+            List<OrderLine> lines = readLineList(in);
+            long subtotalCents = 0;
+            for (OrderLine line : lines) {
+                subtotalCents += line.priceCents();
+            }
+            return new PlacedOrder(orderNumber, placedAtMillis, lines, subtotalCents);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated Order");
+        }
+    }
+
+    /**
+     * Writes a list of order lines at the buffer's position.
+     *
+     * @param out   the buffer to write to; must have encodedSize(lines) bytes remaining
+     * @param lines the lines to write
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public static void writeLines(ByteBuffer out, List<OrderLine> lines) {
+        out.put(FORMAT_VERSION);
+        writeLineList(out, lines);
+    }
+
+    /**
+     * Reads a list of order lines written by writeLines().
+     *
+     * @param in the buffer to read from
+     * @return the decoded lines
+     * @throws IOException if the buffer does not hold a valid list of lines
+     */
+    public static List<OrderLine> readLines(ByteBuffer in) throws IOException {
+        try {
+            checkVersion(in);
+            return readLineList(in);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated Order Lines");
+        }
+    }
+
+    /**
+     * Writes a menu item at the buffer's position, as its kind followed by its configuration.
+     *
+     * @param out  the buffer to write to
+     * @param item the item to write
+     * @throws IllegalArgumentException if the item is not a coffee, donut or sandwich
+     */
+    public static void writeItem(ByteBuffer out, MenuItem item) {
+        if (item instanceof Coffee) {
+            out.put(ITEM_COFFEE);
+            writeVarint(out, ((Coffee) item).getPackedCode());
+        } else if (item instanceof Donut) {
+            Donut donut = (Donut) item;
+            out.put(ITEM_DONUT);
+            writeVarint(out, donut.getDonutType().ordinal());
+            writeString(out, donut.getDonutFlavor());
+        } else if (item instanceof Sandwich) {
+            out.put(ITEM_SANDWICH);
+            writeVarint(out, ((Sandwich) item).getPackedCode());
+        } else {
+            throw new IllegalArgumentException("Unknown Menu Item: " + item);
+        }
+    }
+
+    /**
+     * Reads a menu item written by writeItem().
+     *
+     * @param in the buffer to read from
+     * @return the shared instance of the item
+     * @throws IOException if the buffer does not hold a valid item
+     */
+    public static MenuItem readItem(ByteBuffer in) throws IOException {
+        try {
+            byte kind = in.get();
+            switch (kind) {
+                case ITEM_COFFEE:
+                    return MenuItems.coffee(readCode(in, Coffee.CONFIG_CODE_COUNT));
+                case ITEM_DONUT:
+                    Donut.DonutType type = Donut.DonutType.values()[readCode(in, Donut.DonutType.values().length)];
+                    return MenuItems.donut(type.name(), readString(in));
+                case ITEM_SANDWICH:
+                    return MenuItems.sandwich(readCode(in, Sandwich.CONFIG_CODE_COUNT));
+                default:
+                    throw new IOException("Unknown Menu Item Kind: " + kind);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated Menu Item");
+        }
+    }
+
+    private static void writeLineList(ByteBuffer out, List<OrderLine> lines) {
+        writeVarint(out, lines.size());
+        for (OrderLine line : lines) {
+            writeItem(out, line.getItem());
+            writeVarint(out, line.getQuantity());
+        }
+    }
+
+    private static List<OrderLine> readLineList(ByteBuffer in) throws IOException {
+        int lineCount = readInt(in);
+        if (lineCount > in.remaining()) {
+            throw new IOException("Invalid Line Count: " + lineCount);
+        }
+        List<OrderLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            MenuItem item = readItem(in);
+            int quantity = readInt(in);
+            if (quantity == 0) {
+                throw new IOException("Invalid Quantity: " + quantity);
+            }
+            lines.add(new OrderLine(item, quantity));
+        }
+        return lines;
+    }
+
+    private static void checkVersion(ByteBuffer in) throws IOException {
+        byte version = in.get();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported Order Format Version: " + version);
+        }
+    }
+
+    private static int itemSize(MenuItem item) {
+        if (item instanceof Coffee) {
+            return 1 + varintSize(((Coffee) item).getPackedCode());
+        } else if (item instanceof Donut) {
+            Donut donut = (Donut) item;
+            int length = utf8Length(donut.getDonutFlavor());
+            return 1 + varintSize(donut.getDonutType().ordinal()) + varintSize(length) + length;
+        } else if (item instanceof Sandwich) {
+            return 1 + varintSize(((Sandwich) item).getPackedCode());
+        }
+        throw new IllegalArgumentException("Unknown Menu Item: " + item);
+    }
+
+    /**
+     * Writes a string as its UTF-8 length followed by its UTF-8 bytes. ASCII strings, such as
+     * every flavor on the menu, are copied a char at a time without encoding them to an array first.
+     */
+    private static void writeString(ByteBuffer out, String value) {
+        int length = utf8Length(value);
+        writeVarint(out, length);
+        if (length == value.length()) {
+            for (int i = 0; i < length; i++) {
+                out.put((byte) value.charAt(i));
+            }
+        } else {
+            out.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = readInt(in);
+        if (length > in.remaining()) {
+            throw new EOFException("Truncated String");
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 2;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // Encoded as a single '?' replacement byte.
+            } else if (c >= 0x800) {
+                length += 2;
+            } else if (c >= 0x80) {
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    private static int readCode(ByteBuffer in, int codeCount) throws IOException {
+        long code = readVarint(in);
+        if (code < 0 || code >= codeCount) {
+            throw new IOException("Invalid Item Code: " + code);
+        }
+        return (int) code;
+    }
+
+    private static int readInt(ByteBuffer in) throws IOException {
+        long value = readVarint(in);
+        if (value > Integer.MAX_VALUE || value < 0) {
+            throw new IOException("Invalid Count: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Writes a value as an unsigned variable-length integer: 7 bits per byte, low bits first, with
+     * the top bit set on every byte but the last. Values below 128 take a single byte.
+     */
+    static void writeVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a value written by writeVarint(). The tenth byte may only hold the 64th bit, so an
+     * encoding of more than 64 bits is rejected rather than silently truncated.
+     */
+    static long readVarint(ByteBuffer in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7) {
+            byte b = in.get();
+            if (shift == 7 * (MAX_VARINT_BYTES - 1) && (b & 0xFF) > 1) {
+                throw new IOException("Malformed Varint");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed Varint");
+    }
+
+    /**
+     * Counts the bytes writeVarint() takes for a value.
+     */
+    static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,85 @@
+package com.softmeth.project5;
+
+/**
+ * Summary of a placed order, small enough to keep in memory for every order in the history.
+ * Holds the order's number, placement time, item count, and cached subtotal, plus where its full
+ * details can be loaded from; the lines themselves are only loaded when the order is opened.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderHeader
+{
+    /**
+     * Log offset of an order whose details are held in memory rather than in an order log.
+     */
+    static final long NOT_LOGGED = -1;
+    private final int orderNumber;
+    private final long placedAtMillis;
+    private final int itemCount;
+    private final long subtotalCents;
+    private final long logOffset;
+    /*============================================================================================*/
+
+    /**
+     * Constructs an OrderHeader.
+     *
+     * @param orderNumber    the number of the order
+     * @param placedAtMillis the time the order was placed, in milliseconds since the epoch
+     * @param itemCount      the total quantity of items in the order
+     * @param subtotalCents  the subtotal of the order in cents
+     * @param logOffset      the offset of the order's record in the order log, or NOT_LOGGED
+     */
+    OrderHeader(int orderNumber, long placedAtMillis, int itemCount, long subtotalCents, long logOffset)
+    {
+        this.orderNumber = orderNumber;
+        this.placedAtMillis = placedAtMillis;
+        this.itemCount = itemCount;
+        this.subtotalCents = subtotalCents;
+        this.logOffset = logOffset;
+    }
+
+    /**
+     * Gets the number of the order.
+     *
+     * @return the order number
+     */
+    public int getOrderNumber() {
+        return orderNumber;
+    }
+
+    /**
+     * Gets the time the order was placed.
+     *
+     * @return the placement time in milliseconds since the epoch
+     */
+    public long getPlacedAtMillis() {
+        return placedAtMillis;
+    }
+
+    /**
+     * Gets the total quantity of items in the order.
+     *
+     * @return the item count
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Gets the subtotal of the order before tax, in cents.
+     *
+     * @return the subtotal in cents
+     */
+    public long getSubtotalCents() {
+        return subtotalCents;
+    }
+
+    /**
+     * Gets the offset of the order's record in the order log.
+     *
+     * @return the log offset, or NOT_LOGGED
+     */
+    long getLogOffset() {
+        return logOffset;
+    }
+}
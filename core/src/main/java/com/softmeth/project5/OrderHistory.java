@@ -0,0 +1,348 @@
+package com.softmeth.project5;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the history of placed orders, optionally backed by an append-only OrderLog.
+ * Only an OrderHeader (number, time, item count, cached subtotal) is kept in memory per order; the
+ * lines of a logged order are read back from the log when the order is opened, and the most
+ * recently opened orders are cached. Placing and cancelling orders only appends to the log; the
+ * headers are replayed from the log the first time the history is actually read.
+ * <p>
+ * Headers are indexed by order number, so finding or cancelling an order takes constant time.
+ * A cancelled order leaves a tombstone in the header list instead of shifting every later header;
+ * the list is compacted once tombstones make up half of it.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderHistory implements OrderHistoryStore
+{
+    /**
+     * Number of opened orders whose details are kept cached.
+     */
+    static final int OPENED_ORDER_CACHE_SIZE = 16;
+    private static final MetricsRegistry.Histogram READ_ORDER_NANOS = MetricsRegistry.getDefault().histogram("history.readOrder");
+    private static final MetricsRegistry.Histogram REPLAY_NANOS = MetricsRegistry.getDefault().histogram("history.replay");
+    private static final MetricsRegistry.Counter OPENED_ORDER_HITS = MetricsRegistry.getDefault().counter("history.openedOrderHits");
+    private final OrderLog log;
+    private final Map<Integer, PlacedOrder> unloggedOrders;
+    private final Map<Integer, PlacedOrder> openedOrders;
+    private List<OrderHeader> headers;
+    private OrderNumberIndex headerPositions;
+    private int liveOrders;
+    /*============================================================================================*/
+
+    /**
+     * Constructs an in-memory history that is not persisted.
+     */
+    public OrderHistory()
+    {
+        this(null);
+    }
+
+    /**
+     * Constructs a history persisted to the given log.
+     *
+     * @param log the log holding the persisted orders, or null to keep the history in memory only
+     */
+    public OrderHistory(OrderLog log)
+    {
+        this.log = log;
+        this.unloggedOrders = new HashMap<>();
+        this.openedOrders = new LinkedHashMap<Integer, PlacedOrder>(OPENED_ORDER_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, PlacedOrder> eldest) {
+                return size() > OPENED_ORDER_CACHE_SIZE;
+            }
+        };
+        if (log == null) {
+            this.headers = new ArrayList<>();
+            this.headerPositions = new OrderNumberIndex(0);
+        }
+    }
+
+    /**
+     * Counts the orders that have been placed and not cancelled.
+     * The first read of the history replays the order headers from the log.
+     *
+     * @return the number of orders in the history
+     * @throws IOException if the log cannot be replayed
+     */
+    @Override
+    public synchronized int getOrderCount() throws IOException {
+        ensureLoaded();
+        return liveOrders;
+    }
+
+    /**
+     * Gets a page of order headers, oldest first.
+     * The first read of the history replays the order headers from the log.
+     *
+     * @param offset the index of the first header to return
+     * @param limit  the most headers to return
+     * @return the headers in the requested range; empty if the offset is past the end
+     * @throws IOException if the log cannot be replayed
+     */
+    @Override
+    public synchronized List<OrderHeader> getHeaders(int offset, int limit) throws IOException {
+        ensureLoaded();
+        int from = Math.min(Math.max(offset, 0), liveOrders);
+        int count = Math.min(Math.max(limit, 0), liveOrders - from);
+        if (liveOrders == headers.size()) {
+            return new ArrayList<>(headers.subList(from, from + count));
+        }
+        List<OrderHeader> page = new ArrayList<>(count);
+        int position = 0;
+        for (int skipped = 0; skipped < from; position++) {
+            if (headers.get(position) != null) {
+                skipped++;
+            }
+        }
+        for (; page.size() < count; position++) {
+            OrderHeader header = headers.get(position);
+            if (header != null) {
+                page.add(header);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Gets a page of the headers of orders numbered after a given order, oldest first.
+     * The first read of the history replays the order headers from the log. The first header after
+     * the order is found by a binary search over the header list, stepping over tombstones.
+     *
+     * @param orderNumber the number of the last order already listed, or 0 for the first page
+     * @param limit       the most headers to return
+     * @return the headers of the first orders numbered above orderNumber
+     * @throws IOException if the log cannot be replayed
+     */
+    @Override
+    public synchronized List<OrderHeader> getHeadersAfter(int orderNumber, int limit) throws IOException {
+        ensureLoaded();
+        int low = 0;
+        int high = headers.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int probe = mid;
+            while (probe < high && headers.get(probe) == null) {
+                probe++;
+            }
+            if (probe < high && headers.get(probe).getOrderNumber() <= orderNumber) {
+                low = probe + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<OrderHeader> page = new ArrayList<>(Math.max(Math.min(limit, liveOrders), 0));
+        for (int position = low; position < headers.size() && page.size() < limit; position++) {
+            OrderHeader header = headers.get(position);
+            if (header != null) {
+                page.add(header);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Finds the header of an order by its number.
+     * The first read of the history replays the order headers from the log.
+     *
+     * @param orderNumber the number of the order
+     * @return the order's header, or null if no such order is in the history
+     * @throws IOException if the log cannot be replayed
+     */
+    @Override
+    public synchronized OrderHeader findHeader(int orderNumber) throws IOException {
+        ensureLoaded();
+        int position = headerPositions.get(orderNumber);
+        return position == OrderNumberIndex.MISSING ? null : headers.get(position);
+    }
+
+    /**
+     * Opens an order, loading its lines from the log unless it was opened recently.
+     * Log reads are timed in the "history.readOrder" histogram and cache hits are counted.
+     *
+     * @param header the header of the order to open
+     * @return the full order
+     * @throws IOException              if the order cannot be read from the log
+     * @throws IllegalArgumentException if the history has no log and the order is not in it
+     */
+    @Override
+    public synchronized PlacedOrder getOrder(OrderHeader header) throws IOException {
+        PlacedOrder order = unloggedOrders.get(header.getOrderNumber());
+        if (order == null) {
+            order = openedOrders.get(header.getOrderNumber());
+        }
+        if (order == null && log == null) {
+            throw new IllegalArgumentException("Unknown Order: " + header.getOrderNumber());
+        }
+        if (order == null) {
+            long start = READ_ORDER_NANOS.start();
+            order = log.readOrder(header.getLogOffset());
+            READ_ORDER_NANOS.stop(start);
+            openedOrders.put(order.getOrderNumber(), order);
+        } else {
+            OPENED_ORDER_HITS.increment();
+        }
+        return order;
+    }
+
+    /**
+     * Reads every order in the history with one sequential replay of the log, bypassing the cache
+     * of opened orders. Orders placed and then cancelled are left out.
+     *
+     * @return every order in the history, oldest first
+     * @throws IOException if the log cannot be read
+     */
+    @Override
+    public synchronized List<PlacedOrder> loadOrders() throws IOException {
+        if (log == null) {
+            ensureLoaded();
+            List<PlacedOrder> orders = new ArrayList<>(liveOrders);
+            for (OrderHeader header : headers) {
+                if (header != null) {
+                    orders.add(unloggedOrders.get(header.getOrderNumber()));
+                }
+            }
+            return orders;
+        }
+        final Map<Integer, PlacedOrder> orders = new LinkedHashMap<>();
+        log.replay(new OrderLog.Visitor() {
+            @Override
+            public void onOrder(PlacedOrder order) {
+                orders.put(order.getOrderNumber(), order);
+            }
+            @Override
+            public void onCancel(int orderNumber) {
+                orders.remove(orderNumber);
+            }
+        });
+        return new ArrayList<>(orders.values());
+    }
+
+    /**
+     * Records a newly placed order.
+     *
+     * @param order the order that was placed
+     * @return the header of the recorded order
+     * @throws IOException              if the order cannot be written to the log
+     * @throws IllegalArgumentException if the history is logged and the order's number is not
+     *                                  above every number already in the log
+     */
+    @Override
+    public synchronized OrderHeader add(PlacedOrder order) throws IOException {
+        long logOffset = OrderHeader.NOT_LOGGED;
+        if (log != null) {
+            logOffset = log.appendOrder(order);
+        } else {
+            unloggedOrders.put(order.getOrderNumber(), order);
+        }
+        OrderHeader header = new OrderHeader(order.getOrderNumber(), order.getPlacedAtMillis(),
+                order.getItemCount(), order.getSubtotalCents(), logOffset);
+        if (headers != null) {
+            addHeader(header);
+        }
+        return header;
+    }
+
+    /**
+     * Cancels a previously placed order, leaving a tombstone in its place in the header list.
+     *
+     * @param orderNumber the number of the order to cancel
+     * @throws IOException if the cancellation cannot be written to the log
+     */
+    @Override
+    public synchronized void cancel(int orderNumber) throws IOException {
+        if (log != null) {
+            log.appendCancellation(orderNumber);
+        }
+        unloggedOrders.remove(orderNumber);
+        openedOrders.remove(orderNumber);
+        if (headers != null) {
+            removeHeader(orderNumber);
+        }
+    }
+
+    /**
+     * Forces any batched log records to disk.
+     *
+     * @throws IOException if the log cannot be synced
+     */
+    @Override
+    public synchronized void sync() throws IOException {
+        if (log != null) {
+            log.sync();
+        }
+    }
+
+    private void ensureLoaded() throws IOException {
+        if (headers != null) {
+            return;
+        }
+        headers = new ArrayList<>();
+        headerPositions = new OrderNumberIndex(0);
+        liveOrders = 0;
+        long start = REPLAY_NANOS.start();
+        try {
+            log.replayHeaders(new OrderLog.HeaderVisitor() {
+                @Override
+                public void onOrder(OrderHeader header) {
+                    addHeader(header);
+                }
+                @Override
+                public void onCancel(int orderNumber) {
+                    removeHeader(orderNumber);
+                }
+            });
+        } catch (IOException e) {
+            headers = null;
+            headerPositions = null;
+            throw e;
+        }
+        REPLAY_NANOS.stop(start);
+    }
+
+    private void addHeader(OrderHeader header) {
+        int previous = headerPositions.get(header.getOrderNumber());
+        if (previous != OrderNumberIndex.MISSING) {
+            headers.set(previous, header);
+            return;
+        }
+        headerPositions.put(header.getOrderNumber(), headers.size());
+        headers.add(header);
+        liveOrders++;
+    }
+
+    private void removeHeader(int orderNumber) {
+        int position = headerPositions.remove(orderNumber);
+        if (position == OrderNumberIndex.MISSING) {
+            return;
+        }
+        headers.set(position, null);
+        liveOrders--;
+        if (liveOrders * 2 < headers.size()) {
+            compactHeaders();
+        }
+    }
+
+    /**
+     * Drops the tombstones from the header list and renumbers the index, keeping the headers in order.
+     * Runs once tombstones make up half the list, so its cost is spread over the cancellations.
+     */
+    private void compactHeaders() {
+        List<OrderHeader> live = new ArrayList<>(liveOrders);
+        headerPositions.clear();
+        for (OrderHeader header : headers) {
+            if (header != null) {
+                headerPositions.put(header.getOrderNumber(), live.size());
+                live.add(header);
+            }
+        }
+        headers = live;
+    }
+}
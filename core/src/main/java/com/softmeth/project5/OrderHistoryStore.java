@@ -0,0 +1,97 @@
+package com.softmeth.project5;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Interface for a store of placed orders.
+ * Orders are listed by their OrderHeader, oldest first, and opened in full on demand, so a store
+ * may keep only the headers in memory and read an order's lines from wherever it persists them.
+ * Implementations must be safe to use from several threads.
+ *
+ * @author Ridwan Sharkar
+ */
+public interface OrderHistoryStore
+{
+    /**
+     * Counts the orders that have been placed and not cancelled.
+     *
+     * @return the number of orders in the store
+     * @throws IOException if the store cannot be read
+     */
+    int getOrderCount() throws IOException;
+
+    /**
+     * Gets a page of order headers, oldest first.
+     *
+     * @param offset the index of the first header to return
+     * @param limit  the most headers to return
+     * @return the headers in the requested range; empty if the offset is past the end
+     * @throws IOException if the store cannot be read
+     */
+    List<OrderHeader> getHeaders(int offset, int limit) throws IOException;
+
+    /**
+     * Gets a page of the headers of orders numbered after a given order, oldest first.
+     * Order.placeOrder() records orders in increasing order-number order, even from several
+     * threads, so a list can be paged by the number of the last order it holds; unlike paging by
+     * offset, cancelling an order while a page is loading neither skips nor repeats a header.
+     *
+     * @param orderNumber the number of the last order already listed, or 0 for the first page
+     * @param limit       the most headers to return
+     * @return the headers of the first orders numbered above orderNumber; empty if there are none
+     * @throws IOException if the store cannot be read
+     */
+    List<OrderHeader> getHeadersAfter(int orderNumber, int limit) throws IOException;
+
+    /**
+     * Finds the header of an order by its number.
+     *
+     * @param orderNumber the number of the order
+     * @return the order's header, or null if no such order is in the store
+     * @throws IOException if the store cannot be read
+     */
+    OrderHeader findHeader(int orderNumber) throws IOException;
+
+    /**
+     * Opens an order listed in the store.
+     *
+     * @param header the header of the order to open
+     * @return the full order
+     * @throws IOException if the order cannot be read
+     */
+    PlacedOrder getOrder(OrderHeader header) throws IOException;
+
+    /**
+     * Reads every order in the store, oldest first, in one sequential pass.
+     * Unlike getOrder(), this does not go through any cache of opened orders, so reading the whole
+     * store, e.g. to rebuild sales counters, does not evict the orders the user recently opened.
+     *
+     * @return every order that has been placed and not cancelled
+     * @throws IOException if the store cannot be read
+     */
+    List<PlacedOrder> loadOrders() throws IOException;
+
+    /**
+     * Records a newly placed order.
+     *
+     * @param order the order that was placed
+     * @return the header of the recorded order
+     * @throws IOException if the order cannot be written
+     */
+    OrderHeader add(PlacedOrder order) throws IOException;
+
+    /**
+     * Cancels a previously placed order.
+     *
+     * @param orderNumber the number of the order to cancel
+     * @throws IOException if the cancellation cannot be written
+     */
+    void cancel(int orderNumber) throws IOException;
+
+    /**
+     * Forces any batched writes to durable storage.
+     *
+     * @throws IOException if the store cannot be synced
+     */
+    void sync() throws IOException;
+}
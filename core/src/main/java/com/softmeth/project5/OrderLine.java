@@ -0,0 +1,87 @@
+package com.softmeth.project5;
+
+/**
+ * Represents a single line of an order: one menu item specification and how many of it were ordered.
+ * Equal items are collapsed into one line, so a dozen identical donuts occupy a single OrderLine.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderLine
+{
+    private final MenuItem item;
+    private final int quantity;
+    /*============================================================================================*/
+
+    /**
+     * Constructs a new OrderLine for the given item and quantity.
+     *
+     * @param item     the menu item ordered on this line
+     * @param quantity the number of units ordered, must be positive
+     * @throws IllegalArgumentException if the quantity is not positive
+     */
+    public OrderLine(MenuItem item, int quantity)
+    {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Invalid Quantity: " + quantity);
+        }
+        this.item = item;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Gets the menu item ordered on this line.
+     *
+     * @return the menu item
+     */
+    public MenuItem getItem() {
+        return item;
+    }
+
+    /**
+     * Gets the number of units ordered on this line.
+     *
+     * @return the quantity
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Returns a copy of this line holding the given quantity of the same item.
+     *
+     * @param quantity the new quantity
+     * @return a new OrderLine with the updated quantity
+     */
+    public OrderLine withQuantity(int quantity) {
+        return new OrderLine(item, quantity);
+    }
+
+    /**
+     * Calculates the price of the whole line (unit price times quantity) in cents.
+     *
+     * @return the price of the line, in cents
+     */
+    public long priceCents() {
+        return item.priceCents() * quantity;
+    }
+
+    /**
+     * Calculates the price of the whole line in dollars.
+     *
+     * @return the price of the line
+     */
+    public double price() {
+        return priceCents() / 100.0;
+    }
+
+    /**
+     * Returns a string representation of the line, including the item and its quantity.
+     *
+     * @return a string describing the item and quantity
+     */
+    @Override
+    public String toString()
+    {
+        return item + " x" + quantity;
+    }
+}
@@ -0,0 +1,446 @@
+package com.softmeth.project5;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of placed and cancelled orders.
+ * Each record is framed as [length][type][payload][crc32][length]; the trailing length lets the last
+ * record be found from the end of the file without reading the rest, and the checksum lets a record
+ * torn by a crash be detected and dropped. Appends are forced to disk in batches of syncEvery records,
+ * or whenever sync() is called.
+ * This class only uses java.io/java.nio, so it can be used and tested without Android.
+ * <p>
+ * An order record holds the order number and placement time as fixed-width fields, so the tail
+ * can be recovered without decoding the lines, followed by the lines as written by
+ * OrderCodec.writeLines().
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderLog implements Closeable
+{
+    /**
+     * Receives the records of the log, in the order they were appended.
+     */
+    public interface Visitor {
+        void onOrder(PlacedOrder order);
+        void onCancel(int orderNumber);
+    }
+
+    /**
+     * Receives a summary of each record of the log, in the order they were appended.
+     * Orders are reported as headers, without materializing their lines.
+     */
+    public interface HeaderVisitor {
+        void onOrder(OrderHeader header);
+        void onCancel(int orderNumber);
+    }
+
+    /**
+     * Handles one intact record found while scanning the log.
+     */
+    private interface RecordHandler {
+        void onRecord(byte type, byte[] payload, long offset) throws IOException;
+    }
+
+    /**
+     * Number of appended records after which the log is forced to disk by default.
+     */
+    public static final int DEFAULT_SYNC_EVERY = 8;
+    private static final int MAGIC = 0x52554F4C; // "RUOL"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+    private static final int FRAME_OVERHEAD = 13;
+    private static final int MAX_PAYLOAD = 1 << 24;
+    private static final byte RECORD_ORDER = 1;
+    private static final byte RECORD_CANCEL = 2;
+    private static final int ORDER_PREFIX_SIZE = 12;
+    private final File file;
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    private final int syncEvery;
+    private int unsyncedRecords;
+    private int lastOrderNumber;
+    /*============================================================================================*/
+
+    /**
+     * Opens or creates the log at the given file, syncing every DEFAULT_SYNC_EVERY records.
+     *
+     * @param file the log file
+     * @throws IOException if the file cannot be opened
+     */
+    public OrderLog(File file) throws IOException
+    {
+        this(file, DEFAULT_SYNC_EVERY);
+    }
+
+    /**
+     * Opens or creates the log at the given file. Only the last record is read to recover the
+     * highest order number; a torn or corrupt tail is truncated away.
+     *
+     * @param file      the log file
+     * @param syncEvery the number of appended records after which the log is forced to disk
+     * @throws IOException if the file cannot be opened or is not an order log
+     */
+    public OrderLog(File file, int syncEvery) throws IOException
+    {
+        if (syncEvery <= 0) {
+            throw new IllegalArgumentException("Invalid Sync Interval: " + syncEvery);
+        }
+        this.file = file;
+        this.syncEvery = syncEvery;
+        this.raf = new RandomAccessFile(file, "rw");
+        this.channel = raf.getChannel();
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                writeHeader();
+            } else {
+                checkHeader();
+                recoverTail();
+            }
+            channel.position(channel.size());
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the highest order number recorded in the log.
+     *
+     * @return the last order number, or 0 if no order has been logged
+     */
+    public synchronized int getLastOrderNumber() {
+        return lastOrderNumber;
+    }
+
+    /**
+     * Appends a placed order to the log. Orders must be appended in increasing order-number order,
+     * as Order.placeOrder() records them, so the last order record always holds the highest number.
+     *
+     * @param order the order to append
+     * @return the offset of the new record, which can be passed to readOrder()
+     * @throws IOException              if the record cannot be written
+     * @throws IllegalArgumentException if the order's number is not above every number in the log
+     */
+    public synchronized long appendOrder(PlacedOrder order) throws IOException {
+        if (order.getOrderNumber() <= lastOrderNumber) {
+            throw new IllegalArgumentException("Order Number " + order.getOrderNumber()
+                    + " Not After " + lastOrderNumber);
+        }
+        ByteBuffer payload = ByteBuffer.allocate(ORDER_PREFIX_SIZE + OrderCodec.encodedSize(order.getLines()));
+        payload.putInt(order.getOrderNumber()).putLong(order.getPlacedAtMillis());
+        OrderCodec.writeLines(payload, order.getLines());
+        long offset = appendRecord(RECORD_ORDER, payload.array());
+        lastOrderNumber = order.getOrderNumber();
+        return offset;
+    }
+
+    /**
+     * Appends the cancellation of a previously placed order to the log.
+     *
+     * @param orderNumber the number of the cancelled order
+     * @throws IOException if the record cannot be written
+     */
+    public synchronized void appendCancellation(int orderNumber) throws IOException {
+        appendRecord(RECORD_CANCEL, ByteBuffer.allocate(4).putInt(orderNumber).array());
+    }
+
+    /**
+     * Forces every appended record to disk.
+     *
+     * @throws IOException if the log cannot be synced
+     */
+    public synchronized void sync() throws IOException {
+        if (unsyncedRecords > 0) {
+            force();
+            unsyncedRecords = 0;
+        }
+    }
+
+    /**
+     * Reads the whole log from the start and passes each record to the visitor.
+     *
+     * @param visitor the visitor receiving the records
+     * @throws IOException if the log cannot be read
+     */
+    public void replay(final Visitor visitor) throws IOException {
+        scan(currentSize(), new RecordHandler() {
+            @Override
+            public void onRecord(byte type, byte[] payload, long offset) throws IOException {
+                if (type == RECORD_ORDER) {
+                    visitor.onOrder(readOrder(payload));
+                } else if (type == RECORD_CANCEL) {
+                    visitor.onCancel(readCancellation(payload));
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the whole log from the start and passes a header for each order, and each cancellation,
+     * to the visitor. Each order's lines are decoded only to count and price them, and are not kept.
+     *
+     * @param visitor the visitor receiving the records
+     * @throws IOException if the log cannot be read
+     */
+    public void replayHeaders(final HeaderVisitor visitor) throws IOException {
+        scan(currentSize(), new RecordHandler() {
+            @Override
+            public void onRecord(byte type, byte[] payload, long offset) throws IOException {
+                if (type == RECORD_ORDER) {
+                    visitor.onOrder(readHeader(payload, offset));
+                } else if (type == RECORD_CANCEL) {
+                    visitor.onCancel(readCancellation(payload));
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the single order whose record starts at the given offset.
+     *
+     * @param offset an offset returned by appendOrder() or reported in an OrderHeader
+     * @return the order stored at that offset
+     * @throws IOException if no intact order record starts at the offset
+     */
+    public synchronized PlacedOrder readOrder(long offset) throws IOException {
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        channel.read(lengthBuffer, offset);
+        int length = lengthBuffer.getInt(0);
+        if (offset < HEADER_SIZE || length < 0 || length > MAX_PAYLOAD
+                || offset + length + FRAME_OVERHEAD > channel.size()) {
+            throw new IOException("No order record at offset " + offset);
+        }
+        ByteBuffer frame = ByteBuffer.allocate(length + FRAME_OVERHEAD - 4);
+        channel.read(frame, offset + 4);
+        frame.flip();
+        byte type = frame.get();
+        byte[] payload = new byte[length];
+        frame.get(payload);
+        if (type != RECORD_ORDER || frame.getInt() != checksum(type, payload, length)) {
+            throw new IOException("No order record at offset " + offset);
+        }
+        return readOrder(payload);
+    }
+
+    /**
+     * Syncs and closes the log.
+     *
+     * @throws IOException if the log cannot be synced or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            raf.close();
+        }
+    }
+
+    private synchronized long currentSize() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Frames a payload, writes it at the end of the log, and syncs if the batch is full.
+     * If the write fails partway, e.g. because the disk is full, the part already written is
+     * truncated away, so the next append does not land behind a torn record that replay stops at.
+     * If the write succeeds but the sync it triggers fails, the record is truncated away too: the
+     * append is reported as failed, so a caller that retries it must not find it already logged.
+     *
+     * @return the offset the record was written at
+     */
+    private long appendRecord(byte type, byte[] payload) throws IOException {
+        long offset = channel.position();
+        ByteBuffer frame = ByteBuffer.allocate(payload.length + FRAME_OVERHEAD);
+        frame.putInt(payload.length).put(type).put(payload)
+                .putInt(checksum(type, payload, payload.length)).putInt(payload.length);
+        frame.flip();
+        try {
+            writeFrame(frame);
+            if (unsyncedRecords + 1 >= syncEvery) {
+                force();
+                unsyncedRecords = 0;
+            } else {
+                unsyncedRecords++;
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.truncate(offset);
+            channel.position(offset);
+            throw e;
+        }
+        return offset;
+    }
+
+    /**
+     * Writes a whole frame at the channel's position. Package-private so tests can simulate a short write.
+     */
+    void writeFrame(ByteBuffer frame) throws IOException {
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    /**
+     * Forces the channel's content to disk. Package-private so tests can simulate a failed sync.
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    private void writeHeader() throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION);
+        header.flip();
+        channel.write(header, 0);
+        channel.force(false);
+    }
+
+    private void checkHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.get() != VERSION) {
+            throw new IOException("Not an order log: " + file);
+        }
+    }
+
+    /**
+     * Walks backwards from the end of the file to the last order record to recover the highest
+     * order number; appendOrder() only accepts increasing numbers, so the last order record holds it.
+     * If any record on the way fails its checks, the file is scanned from the start and truncated
+     * after the last intact record.
+     */
+    private void recoverTail() throws IOException {
+        long end = channel.size();
+        while (end > HEADER_SIZE) {
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+            channel.read(lengthBuffer, end - 4);
+            int length = lengthBuffer.getInt(0);
+            long start = end - length - FRAME_OVERHEAD;
+            if (length < 0 || length > MAX_PAYLOAD || start < HEADER_SIZE) {
+                truncateToLastIntactRecord();
+                return;
+            }
+            ByteBuffer frame = ByteBuffer.allocate(length + FRAME_OVERHEAD);
+            channel.read(frame, start);
+            frame.flip();
+            byte[] payload = new byte[length];
+            int leadingLength = frame.getInt();
+            byte type = frame.get();
+            frame.get(payload);
+            if (leadingLength != length || frame.getInt() != checksum(type, payload, length)) {
+                truncateToLastIntactRecord();
+                return;
+            }
+            if (type == RECORD_ORDER) {
+                lastOrderNumber = ByteBuffer.wrap(payload).getInt();
+                return;
+            }
+            end = start;
+        }
+    }
+
+    private void truncateToLastIntactRecord() throws IOException {
+        final int[] highest = {0};
+        long validEnd = scan(channel.size(), new RecordHandler() {
+            @Override
+            public void onRecord(byte type, byte[] payload, long offset) {
+                if (type == RECORD_ORDER) {
+                    highest[0] = Math.max(highest[0], ByteBuffer.wrap(payload).getInt());
+                }
+            }
+        });
+        channel.truncate(validEnd);
+        channel.force(false);
+        lastOrderNumber = highest[0];
+    }
+
+    /**
+     * Reads records from the start of the log up to the given offset, stopping at the first record
+     * that is incomplete or fails its checksum.
+     *
+     * @return the offset just past the last intact record
+     */
+    private long scan(long end, RecordHandler handler) throws IOException {
+        long offset = HEADER_SIZE;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            in.skipBytes(HEADER_SIZE);
+            while (offset < end) {
+                int length = in.readInt();
+                if (length < 0 || length > MAX_PAYLOAD || offset + length + FRAME_OVERHEAD > end) {
+                    break;
+                }
+                byte type = in.readByte();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (in.readInt() != checksum(type, payload, length) || in.readInt() != length) {
+                    break;
+                }
+                handler.onRecord(type, payload, offset);
+                offset += length + FRAME_OVERHEAD;
+            }
+        } catch (EOFException e) {
+            // A torn final record; everything before it is intact.
+        }
+        return offset;
+    }
+
+    private static PlacedOrder readOrder(byte[] payload) throws IOException {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(payload);
+            int orderNumber = in.getInt();
+            long placedAtMillis = in.getLong();
+            List<OrderLine> lines = OrderCodec.readLines(in);
+            long subtotalCents = 0;
+            for (OrderLine line : lines) {
+                subtotalCents += line.priceCents();
+            }
+            return new PlacedOrder(orderNumber, placedAtMillis, lines, subtotalCents);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated Order Record");
+        }
+    }
+
+    private static OrderHeader readHeader(byte[] payload, long offset) throws IOException {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(payload);
+            int orderNumber = in.getInt();
+            long placedAtMillis = in.getLong();
+            int itemCount = 0;
+            long subtotalCents = 0;
+            for (OrderLine line : OrderCodec.readLines(in)) {
+                itemCount += line.getQuantity();
+                subtotalCents += line.priceCents();
+            }
+            return new OrderHeader(orderNumber, placedAtMillis, itemCount, subtotalCents, offset);
+        } catch (BufferUnderflowException e) {
+            throw new EOFException("Truncated Order Record");
+        }
+    }
+
+    private static int readCancellation(byte[] payload) throws IOException {
+        if (payload.length < 4) {
+            throw new EOFException("Truncated Cancel Record");
+        }
+        return ByteBuffer.wrap(payload).getInt();
+    }
+
+    private static int checksum(byte type, byte[] payload, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload, 0, length);
+        return (int) crc.getValue();
+    }
+}
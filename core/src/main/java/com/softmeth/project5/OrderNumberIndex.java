@@ -0,0 +1,160 @@
+package com.softmeth.project5;
+import java.util.Arrays;
+
+/**
+ * A hash index from order numbers to int positions, e.g. an order's slot in a history store.
+ * Keys and values are kept in two parallel int arrays with linear probing, so a lookup neither
+ * boxes the order number nor follows a pointer per entry. Removing a key shifts the following
+ * entries of its probe run back, so lookups never have to skip deleted entries.
+ * Not thread-safe; callers synchronize around it.
+ *
+ * @author Ridwan Sharkar
+ */
+final class OrderNumberIndex
+{
+    /**
+     * Returned by get() for an order number that is not in the index.
+     */
+    static final int MISSING = -1;
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+    private int[] keys;
+    private int[] values;
+    private int size;
+    /*============================================================================================*/
+
+    /**
+     * Constructs an empty index sized for the given number of orders.
+     *
+     * @param expectedSize the number of orders expected, used to size the tables
+     */
+    OrderNumberIndex(int expectedSize)
+    {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Gets the position stored for an order number.
+     *
+     * @param orderNumber the order number
+     * @return the position, or MISSING if the order number is not in the index
+     */
+    int get(int orderNumber) {
+        if (orderNumber == EMPTY) {
+            return MISSING;
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(orderNumber) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == orderNumber) {
+                return values[i];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Stores the position of an order number, replacing any previous one.
+     *
+     * @param orderNumber the order number
+     * @param position    the position to store, not negative
+     * @throws IllegalArgumentException if the order number is Integer.MIN_VALUE or the position is negative
+     */
+    void put(int orderNumber, int position) {
+        if (orderNumber == EMPTY || position < 0) {
+            throw new IllegalArgumentException("Invalid Index Entry: " + orderNumber + " -> " + position);
+        }
+        if ((size + 1) * 4 > keys.length * 3) {
+            rehash(keys.length << 1);
+        }
+        int mask = keys.length - 1;
+        int i = mix(orderNumber) & mask;
+        while (keys[i] != EMPTY && keys[i] != orderNumber) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == EMPTY) {
+            keys[i] = orderNumber;
+            size++;
+        }
+        values[i] = position;
+    }
+
+    /**
+     * Removes an order number from the index.
+     *
+     * @param orderNumber the order number
+     * @return the position that was stored, or MISSING if the order number was not in the index
+     */
+    int remove(int orderNumber) {
+        if (orderNumber == EMPTY) {
+            return MISSING;
+        }
+        int mask = keys.length - 1;
+        int i = mix(orderNumber) & mask;
+        while (keys[i] != orderNumber) {
+            if (keys[i] == EMPTY) {
+                return MISSING;
+            }
+            i = (i + 1) & mask;
+        }
+        int removed = values[i];
+        size--;
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        return removed;
+    }
+
+    /**
+     * Counts the order numbers in the index.
+     *
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Spreads consecutive order numbers across the table.
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,282 @@
+package com.softmeth.project5;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs order placement and order history work on a bounded pool of worker threads, so placing,
+ * cancelling and loading orders never blocks the thread that asks for them.
+ * Results are delivered through a callback executor, e.g. one that posts to the UI thread.
+ * At most a fixed number of tasks may wait for a worker; further tasks are rejected and their
+ * callback is told so, rather than letting the queue grow without bound.
+ * The service counts the tasks it runs in a MetricsRegistry, under "orderService.submitted",
+ * ".completed", ".failed" and ".rejected", and times how long they waited for a worker and ran in
+ * the "orderService.queueWait" and "orderService.run" histograms. See getQueueDepth() for the
+ * current state of the queue.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderService
+{
+    private static final String THREAD_NAME = "OrderService-";
+    private final OrderHistoryStore history;
+    private final ThreadPoolExecutor workers;
+    private final Executor callbackExecutor;
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final MetricsRegistry.Counter submittedCount;
+    private final MetricsRegistry.Counter completedCount;
+    private final MetricsRegistry.Counter failedCount;
+    private final MetricsRegistry.Counter rejectedCount;
+    private final MetricsRegistry.Histogram queueWaitNanos;
+    private final MetricsRegistry.Histogram runNanos;
+    /*============================================================================================*/
+
+    /**
+     * Interface for receiving the result of a task run by the service.
+     * Exactly one of the methods is called, on the service's callback executor.
+     *
+     * @param <T> the type of the result
+     */
+    public interface Callback<T> {
+        void onSuccess(T result);
+        void onFailure(Exception error);
+    }
+
+    /**
+     * Interface for a unit of work run on a worker thread.
+     *
+     * @param <T> the type of the result
+     */
+    public interface Task<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Constructs a service with its own pool of daemon worker threads, recording into the default
+     * MetricsRegistry.
+     *
+     * @param history          the history that orders are placed in and loaded from
+     * @param workerThreads    the number of worker threads, must be positive
+     * @param queueCapacity    the most tasks that may wait for a worker, must be positive
+     * @param callbackExecutor runs the callbacks, e.g. by posting them to the UI thread
+     * @throws IllegalArgumentException if workerThreads or queueCapacity is not positive
+     */
+    public OrderService(OrderHistoryStore history, int workerThreads, int queueCapacity,
+                        Executor callbackExecutor)
+    {
+        this(history, workerThreads, queueCapacity, callbackExecutor, MetricsRegistry.getDefault());
+    }
+
+    /**
+     * Constructs a service with its own pool of daemon worker threads.
+     *
+     * @param history          the history that orders are placed in and loaded from
+     * @param workerThreads    the number of worker threads, must be positive
+     * @param queueCapacity    the most tasks that may wait for a worker, must be positive
+     * @param callbackExecutor runs the callbacks, e.g. by posting them to the UI thread
+     * @param metrics          the registry the task counters and latencies are recorded in
+     * @throws IllegalArgumentException if workerThreads or queueCapacity is not positive
+     */
+    public OrderService(OrderHistoryStore history, int workerThreads, int queueCapacity,
+                        Executor callbackExecutor, MetricsRegistry metrics)
+    {
+        if (workerThreads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Invalid Pool Size: " + workerThreads + " workers, "
+                    + queueCapacity + " queued");
+        }
+        this.history = history;
+        this.callbackExecutor = callbackExecutor;
+        this.submittedCount = metrics.counter("orderService.submitted");
+        this.completedCount = metrics.counter("orderService.completed");
+        this.failedCount = metrics.counter("orderService.failed");
+        this.rejectedCount = metrics.counter("orderService.rejected");
+        this.queueWaitNanos = metrics.histogram("orderService.queueWait");
+        this.runNanos = metrics.histogram("orderService.run");
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Places the current order and records it in the history, see Order.placeOrder().
+     *
+     * @param placedAtMillis the time the order was placed, in milliseconds since the epoch
+     * @param callback       receives the placed order, or null if the current order was empty
+     */
+    public void placeOrder(final long placedAtMillis, Callback<PlacedOrder> callback) {
+        submit(() -> Order.placeOrder(history, placedAtMillis), callback);
+    }
+
+    /**
+     * Cancels a previously placed order.
+     *
+     * @param orderNumber the number of the order to cancel
+     * @param callback    told when the cancellation has been recorded
+     */
+    public void cancelOrder(final int orderNumber, Callback<Void> callback) {
+        submit(() -> {
+            history.cancel(orderNumber);
+            return null;
+        }, callback);
+    }
+
+    /**
+     * Loads a page of order headers, oldest first, starting after the last order already listed.
+     * Paging by order number rather than offset keeps pages consistent while orders are cancelled
+     * on another worker.
+     *
+     * @param orderNumber the number of the last order already listed, or 0 for the first page
+     * @param limit       the most headers to load
+     * @param callback    receives the headers of the first orders numbered above orderNumber
+     */
+    public void loadHeadersAfter(final int orderNumber, final int limit,
+                                 Callback<List<OrderHeader>> callback) {
+        submit(() -> history.getHeadersAfter(orderNumber, limit), callback);
+    }
+
+    /**
+     * Opens an order listed in the history. The order's line descriptions are built on the worker
+     * too, so displaying them does no further work.
+     *
+     * @param header   the header of the order to open
+     * @param callback receives the full order
+     */
+    public void loadOrder(final OrderHeader header, Callback<PlacedOrder> callback) {
+        submit(() -> {
+            PlacedOrder order = history.getOrder(header);
+            order.getDescriptions();
+            return order;
+        }, callback);
+    }
+
+    /**
+     * Forces any batched history records to durable storage.
+     *
+     * @param callback told when the history has been synced, may be null
+     */
+    public void sync(Callback<Void> callback) {
+        submit(() -> {
+            history.sync();
+            return null;
+        }, callback);
+    }
+
+    /**
+     * Runs a task on a worker thread and delivers its result to the callback.
+     * If every worker is busy and the queue is full, the task is not run and the callback
+     * receives a RejectedExecutionException.
+     *
+     * @param task     the work to run
+     * @param callback receives the result or the failure, may be null
+     * @param <T>      the type of the result
+     */
+    public <T> void submit(final Task<T> task, final Callback<T> callback) {
+        final long submittedAt = queueWaitNanos.start();
+        submittedCount.increment();
+        try {
+            workers.execute(() -> run(task, callback, submittedAt));
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            deliverFailure(callback, e);
+            return;
+        }
+        updateMax(maxQueueDepth, workers.getQueue().size());
+    }
+
+    /**
+     * Stops accepting tasks. Tasks already submitted still run and deliver their results.
+     */
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Waits for the submitted tasks to finish after shutdown().
+     *
+     * @param timeout the most time to wait
+     * @param unit    the unit of the timeout
+     * @return true if every task finished, false if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return workers.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Counts the tasks waiting for a worker.
+     *
+     * @return the current queue depth
+     */
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * Gets the deepest the queue has been right after a task was submitted.
+     *
+     * @return the maximum queue depth
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Counts the tasks running on a worker right now.
+     *
+     * @return the number of active workers
+     */
+    public int getActiveCount() {
+        return workers.getActiveCount();
+    }
+
+    /**
+     * Returns a summary of the service's queue. Task counts and latencies are in the registry.
+     *
+     * @return a string describing the service
+     */
+    @Override
+    public String toString() {
+        return "OrderService[queued=" + getQueueDepth() + ", maxQueued=" + getMaxQueueDepth()
+                + ", active=" + getActiveCount() + "]";
+    }
+
+    private <T> void run(Task<T> task, final Callback<T> callback, long submittedAt) {
+        queueWaitNanos.stop(submittedAt);
+        long startedAt = runNanos.start();
+        final T result;
+        try {
+            result = task.run();
+        } catch (final Exception e) {
+            runNanos.stop(startedAt);
+            failedCount.increment();
+            deliverFailure(callback, e);
+            return;
+        }
+        runNanos.stop(startedAt);
+        completedCount.increment();
+        if (callback != null) {
+            callbackExecutor.execute(() -> callback.onSuccess(result));
+        }
+    }
+
+    private void deliverFailure(final Callback<?> callback, final Exception error) {
+        if (callback != null) {
+            callbackExecutor.execute(() -> callback.onFailure(error));
+        }
+    }
+
+    private static void updateMax(AtomicInteger max, int value) {
+        int current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+}
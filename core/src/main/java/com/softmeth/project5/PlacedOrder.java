@@ -0,0 +1,126 @@
+package com.softmeth.project5;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents an order that has been placed and moved into the order history.
+ * A placed order is immutable: it records the order number, when it was placed, and its lines,
+ * together with the subtotal computed once at placement.
+ *
+ * @author Ridwan Sharkar
+ */
+public class PlacedOrder
+{
+    private final int orderNumber;
+    private final long placedAtMillis;
+    private final List<OrderLine> lines;
+    private final long subtotalCents;
+    private volatile List<String> descriptions;
+    /*============================================================================================*/
+
+    /**
+     * Constructs a PlacedOrder from its number, placement time, and lines.
+     *
+     * @param orderNumber    the number of the order
+     * @param placedAtMillis the time the order was placed, in milliseconds since the epoch
+     * @param lines          the lines of the order; the list is copied
+     */
+    public PlacedOrder(int orderNumber, long placedAtMillis, List<OrderLine> lines)
+    {
+        this(orderNumber, placedAtMillis, new ArrayList<>(lines), sumCents(lines));
+    }
+
+    /**
+     * Constructs a PlacedOrder that takes ownership of the given list of lines instead of copying it.
+     * The caller must not change the list afterwards.
+     *
+     * @param orderNumber    the number of the order
+     * @param placedAtMillis the time the order was placed, in milliseconds since the epoch
+     * @param lines          the lines of the order; the list is adopted, not copied
+     * @param subtotalCents  the subtotal of the lines, in cents
+     */
+    PlacedOrder(int orderNumber, long placedAtMillis, List<OrderLine> lines, long subtotalCents)
+    {
+        this.orderNumber = orderNumber;
+        this.placedAtMillis = placedAtMillis;
+        this.lines = Collections.unmodifiableList(lines);
+        this.subtotalCents = subtotalCents;
+    }
+
+    /**
+     * Gets the number of the order.
+     *
+     * @return the order number
+     */
+    public int getOrderNumber() {
+        return orderNumber;
+    }
+
+    /**
+     * Gets the time the order was placed.
+     *
+     * @return the placement time in milliseconds since the epoch
+     */
+    public long getPlacedAtMillis() {
+        return placedAtMillis;
+    }
+
+    /**
+     * Gets the lines of the order.
+     *
+     * @return an unmodifiable list of the order's lines
+     */
+    public List<OrderLine> getLines() {
+        return lines;
+    }
+
+    /**
+     * Gets the subtotal of the order before tax, in cents.
+     *
+     * @return the subtotal in cents
+     */
+    public long getSubtotalCents() {
+        return subtotalCents;
+    }
+
+    /**
+     * Gets a display string for each line of the order.
+     * The strings are built on first use and cached, since a placed order never changes.
+     *
+     * @return an unmodifiable list of line descriptions
+     */
+    public List<String> getDescriptions() {
+        List<String> result = descriptions;
+        if (result == null) {
+            List<String> built = new ArrayList<>(lines.size());
+            for (OrderLine line : lines) {
+                built.add(line.toString());
+            }
+            result = Collections.unmodifiableList(built);
+            descriptions = result;
+        }
+        return result;
+    }
+
+    private static long sumCents(List<OrderLine> lines) {
+        long subtotal = 0;
+        for (OrderLine line : lines) {
+            subtotal += line.priceCents();
+        }
+        return subtotal;
+    }
+
+    /**
+     * Counts the units across all lines of the order.
+     *
+     * @return the total quantity of items ordered
+     */
+    public int getItemCount() {
+        int count = 0;
+        for (OrderLine line : lines) {
+            count += line.getQuantity();
+        }
+        return count;
+    }
+}
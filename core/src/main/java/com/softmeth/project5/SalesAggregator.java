@@ -0,0 +1,452 @@
+package com.softmeth.project5;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Keeps running sales counters over the order history: units sold and revenue per kind of item,
+ * donut type, donut flavor, coffee cup size, coffee configuration and sandwich configuration, plus
+ * the number of orders and their total revenue.
+ * The counters are updated as each order is placed or cancelled, so a report reads them directly
+ * instead of walking every line of every order. Coffee and sandwich counters are arrays indexed by
+ * the items' packed configuration codes, like their price tables.
+ * When the counters have to be recomputed from persisted history, aggregate() splits the orders
+ * across a ForkJoinPool and merges the partial counters.
+ * All methods are synchronized on the aggregator.
+ *
+ * @author Ridwan Sharkar
+ */
+public class SalesAggregator
+{
+    /**
+     * Orders aggregated by a single fork-join task before it stops splitting.
+     */
+    static final int SPLIT_THRESHOLD = 256;
+    private static final ItemKind[] ITEM_KINDS = ItemKind.values();
+    private static final Donut.DonutType[] DONUT_TYPES = Donut.DonutType.values();
+    private final long[] kindUnits = new long[ITEM_KINDS.length];
+    private final long[] kindRevenueCents = new long[ITEM_KINDS.length];
+    private final long[] donutTypeUnits = new long[DONUT_TYPES.length];
+    private final long[] donutTypeRevenueCents = new long[DONUT_TYPES.length];
+    private final long[] cupSizeUnits = new long[Coffee.CUP_SIZE_COUNT];
+    private final long[] cupSizeRevenueCents = new long[Coffee.CUP_SIZE_COUNT];
+    private final long[] coffeeUnits = new long[Coffee.CONFIG_CODE_COUNT];
+    private final long[] sandwichUnits = new long[Sandwich.CONFIG_CODE_COUNT];
+    private final Map<String, FlavorSales> donutFlavors = new HashMap<>();
+    private long orderCount;
+    private long itemCount;
+    private long revenueCents;
+    /*============================================================================================*/
+
+    /**
+     * Units sold and revenue of a single donut flavor.
+     */
+    public static final class FlavorSales {
+        private final String flavor;
+        private long units;
+        private long revenueCents;
+
+        private FlavorSales(String flavor, long units, long revenueCents) {
+            this.flavor = flavor;
+            this.units = units;
+            this.revenueCents = revenueCents;
+        }
+
+        /**
+         * Gets the flavor, as stored on orders, e.g. "GLAZED_YEAST".
+         *
+         * @return the donut flavor
+         */
+        public String getFlavor() {
+            return flavor;
+        }
+
+        /**
+         * Counts the donuts of this flavor sold.
+         *
+         * @return the units sold
+         */
+        public long getUnits() {
+            return units;
+        }
+
+        /**
+         * Adds up the revenue from donuts of this flavor.
+         *
+         * @return the revenue, in cents
+         */
+        public long getRevenueCents() {
+            return revenueCents;
+        }
+    }
+
+    /**
+     * Constructs an aggregator with every counter at zero.
+     */
+    public SalesAggregator()
+    {
+    }
+
+    /**
+     * Adds a placed order to the counters.
+     *
+     * @param order the order that was placed
+     */
+    public synchronized void addOrder(PlacedOrder order) {
+        apply(order, 1);
+    }
+
+    /**
+     * Takes a cancelled order back out of the counters.
+     *
+     * @param order the order that was cancelled, as it was added
+     */
+    public synchronized void removeOrder(PlacedOrder order) {
+        apply(order, -1);
+    }
+
+    /**
+     * Adds every counter of another aggregator to this one.
+     *
+     * @param other the aggregator to merge in
+     */
+    public void merge(SalesAggregator other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge an aggregator into itself");
+        }
+        SalesAggregator snapshot = other.copy();
+        synchronized (this) {
+            addAll(snapshot, 1);
+        }
+    }
+
+    /**
+     * Replaces every counter of this aggregator with those of another, e.g. after a rebuild.
+     *
+     * @param other the aggregator whose counters to take
+     */
+    public void replaceWith(SalesAggregator other) {
+        SalesAggregator snapshot = other.copy();
+        synchronized (this) {
+            clear();
+            addAll(snapshot, 1);
+        }
+    }
+
+    /**
+     * Counts the orders aggregated.
+     *
+     * @return the number of orders
+     */
+    public synchronized long getOrderCount() {
+        return orderCount;
+    }
+
+    /**
+     * Counts the items sold across every order.
+     *
+     * @return the number of items
+     */
+    public synchronized long getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Adds up the subtotals of every order.
+     *
+     * @return the revenue before tax, in cents
+     */
+    public synchronized long getRevenueCents() {
+        return revenueCents;
+    }
+
+    /**
+     * Calculates the mean subtotal of an order, rounded to the nearest cent.
+     *
+     * @return the average ticket, in cents, or 0 if there are no orders
+     */
+    public synchronized long getAverageTicketCents() {
+        return orderCount == 0 ? 0 : (revenueCents + orderCount / 2) / orderCount;
+    }
+
+    /**
+     * Counts the items of one kind sold.
+     *
+     * @param kind the kind of item
+     * @return the units sold
+     */
+    public synchronized long getUnits(ItemKind kind) {
+        return kindUnits[kind.ordinal()];
+    }
+
+    /**
+     * Adds up the revenue from items of one kind.
+     *
+     * @param kind the kind of item
+     * @return the revenue, in cents
+     */
+    public synchronized long getRevenueCents(ItemKind kind) {
+        return kindRevenueCents[kind.ordinal()];
+    }
+
+    /**
+     * Counts the donuts of one type sold.
+     *
+     * @param type the donut type
+     * @return the units sold
+     */
+    public synchronized long getDonutTypeUnits(Donut.DonutType type) {
+        return donutTypeUnits[type.ordinal()];
+    }
+
+    /**
+     * Adds up the revenue from donuts of one type.
+     *
+     * @param type the donut type
+     * @return the revenue, in cents
+     */
+    public synchronized long getDonutTypeRevenueCents(Donut.DonutType type) {
+        return donutTypeRevenueCents[type.ordinal()];
+    }
+
+    /**
+     * Counts the donuts of one flavor sold.
+     *
+     * @param flavor the flavor, as stored on orders, e.g. "GLAZED_YEAST"
+     * @return the units sold, or 0 if none were
+     */
+    public synchronized long getDonutFlavorUnits(String flavor) {
+        FlavorSales sales = donutFlavors.get(flavor);
+        return sales == null ? 0 : sales.units;
+    }
+
+    /**
+     * Ranks the donut flavors by units sold, best sellers first; ties go to the higher revenue.
+     * Every flavor with units sold is ranked, including flavors no longer on the menu; the cost
+     * grows with the number of distinct flavors sold, not with the number of orders aggregated.
+     *
+     * @param limit the most flavors to return
+     * @return snapshots of the best selling flavors
+     */
+    public synchronized List<FlavorSales> getTopDonutFlavors(int limit) {
+        List<FlavorSales> ranked = new ArrayList<>(donutFlavors.size());
+        for (FlavorSales sales : donutFlavors.values()) {
+            if (sales.units > 0) {
+                ranked.add(new FlavorSales(sales.flavor, sales.units, sales.revenueCents));
+            }
+        }
+        Collections.sort(ranked, (a, b) -> a.units != b.units ? Long.compare(b.units, a.units)
+                : a.revenueCents != b.revenueCents ? Long.compare(b.revenueCents, a.revenueCents)
+                : a.flavor.compareTo(b.flavor));
+        return ranked.size() <= limit ? ranked : new ArrayList<>(ranked.subList(0, Math.max(limit, 0)));
+    }
+
+    /**
+     * Counts the coffees of one cup size sold.
+     *
+     * @param cupSizeIndex the cup size as an index from SHORT (0) to VENTI (3)
+     * @return the units sold
+     */
+    public synchronized long getCupSizeUnits(int cupSizeIndex) {
+        return cupSizeUnits[cupSizeIndex];
+    }
+
+    /**
+     * Adds up the revenue from coffees of one cup size.
+     *
+     * @param cupSizeIndex the cup size as an index from SHORT (0) to VENTI (3)
+     * @return the revenue, in cents
+     */
+    public synchronized long getCupSizeRevenueCents(int cupSizeIndex) {
+        return cupSizeRevenueCents[cupSizeIndex];
+    }
+
+    /**
+     * Counts the coffees of one configuration sold.
+     *
+     * @param packedCode the configuration, as returned by Coffee.getPackedCode()
+     * @return the units sold
+     */
+    public synchronized long getCoffeeUnits(int packedCode) {
+        return coffeeUnits[packedCode];
+    }
+
+    /**
+     * Counts the sandwiches of one configuration sold.
+     *
+     * @param packedCode the configuration, as returned by Sandwich.getPackedCode()
+     * @return the units sold
+     */
+    public synchronized long getSandwichUnits(int packedCode) {
+        return sandwichUnits[packedCode];
+    }
+
+    /**
+     * Aggregates a list of orders, splitting it across the pool.
+     *
+     * @param orders the orders to aggregate
+     * @param pool   the pool to run the aggregation in
+     * @return a new aggregator holding the counters of every order
+     */
+    public static SalesAggregator aggregate(List<PlacedOrder> orders, ForkJoinPool pool) {
+        return pool.invoke(new AggregateTask(orders, 0, orders.size()));
+    }
+
+    /**
+     * Aggregates every order in a history store. The orders are read in one sequential pass with
+     * loadOrders(), which neither serializes the workers on the store's lock nor churns its cache of
+     * opened orders, and the in-memory list is then split across the pool.
+     *
+     * @param store the history to aggregate
+     * @param pool  the pool to run the aggregation in
+     * @return a new aggregator holding the counters of every order in the store
+     * @throws IOException if the store cannot be read
+     */
+    public static SalesAggregator aggregate(OrderHistoryStore store, ForkJoinPool pool) throws IOException {
+        return aggregate(store.loadOrders(), pool);
+    }
+
+    /**
+     * Returns a summary of the order counters.
+     *
+     * @return a string describing the aggregator
+     */
+    @Override
+    public synchronized String toString() {
+        return "SalesAggregator[orders=" + orderCount + ", items=" + itemCount
+                + ", revenue=" + Money.format(revenueCents)
+                + ", averageTicket=" + Money.format(getAverageTicketCents()) + "]";
+    }
+
+    private void apply(PlacedOrder order, int sign) {
+        orderCount += sign;
+        revenueCents += sign * order.getSubtotalCents();
+        List<OrderLine> lines = order.getLines();
+        for (int i = 0, n = lines.size(); i < n; i++) {
+            OrderLine line = lines.get(i);
+            MenuItem item = line.getItem();
+            long units = (long) sign * line.getQuantity();
+            long revenue = units * item.priceCents();
+            itemCount += units;
+            if (item instanceof Coffee) {
+                Coffee coffee = (Coffee) item;
+                count(ItemKind.COFFEE, units, revenue);
+                cupSizeUnits[coffee.getCupSizeIndex()] += units;
+                cupSizeRevenueCents[coffee.getCupSizeIndex()] += revenue;
+                coffeeUnits[coffee.getPackedCode()] += units;
+            } else if (item instanceof Donut) {
+                Donut donut = (Donut) item;
+                count(ItemKind.DONUT, units, revenue);
+                donutTypeUnits[donut.getDonutType().ordinal()] += units;
+                donutTypeRevenueCents[donut.getDonutType().ordinal()] += revenue;
+                countFlavor(donut.getDonutFlavor(), units, revenue);
+            } else if (item instanceof Sandwich) {
+                count(ItemKind.SANDWICH, units, revenue);
+                sandwichUnits[((Sandwich) item).getPackedCode()] += units;
+            }
+        }
+    }
+
+    private void count(ItemKind kind, long units, long revenue) {
+        kindUnits[kind.ordinal()] += units;
+        kindRevenueCents[kind.ordinal()] += revenue;
+    }
+
+    private void countFlavor(String flavor, long units, long revenue) {
+        FlavorSales sales = donutFlavors.get(flavor);
+        if (sales == null) {
+            sales = new FlavorSales(flavor, 0, 0);
+            donutFlavors.put(flavor, sales);
+        }
+        sales.units += units;
+        sales.revenueCents += revenue;
+    }
+
+    private void clear() {
+        orderCount = 0;
+        itemCount = 0;
+        revenueCents = 0;
+        Arrays.fill(kindUnits, 0);
+        Arrays.fill(kindRevenueCents, 0);
+        Arrays.fill(donutTypeUnits, 0);
+        Arrays.fill(donutTypeRevenueCents, 0);
+        Arrays.fill(cupSizeUnits, 0);
+        Arrays.fill(cupSizeRevenueCents, 0);
+        Arrays.fill(coffeeUnits, 0);
+        Arrays.fill(sandwichUnits, 0);
+        donutFlavors.clear();
+    }
+
+    private synchronized SalesAggregator copy() {
+        SalesAggregator copy = new SalesAggregator();
+        copy.addAll(this, 1);
+        return copy;
+    }
+
+    /**
+     * Adds, or with a sign of -1 subtracts, every counter of another aggregator that is not
+     * shared with any other thread.
+     */
+    private void addAll(SalesAggregator other, int sign) {
+        orderCount += sign * other.orderCount;
+        itemCount += sign * other.itemCount;
+        revenueCents += sign * other.revenueCents;
+        add(kindUnits, other.kindUnits, sign);
+        add(kindRevenueCents, other.kindRevenueCents, sign);
+        add(donutTypeUnits, other.donutTypeUnits, sign);
+        add(donutTypeRevenueCents, other.donutTypeRevenueCents, sign);
+        add(cupSizeUnits, other.cupSizeUnits, sign);
+        add(cupSizeRevenueCents, other.cupSizeRevenueCents, sign);
+        add(coffeeUnits, other.coffeeUnits, sign);
+        add(sandwichUnits, other.sandwichUnits, sign);
+        for (FlavorSales sales : other.donutFlavors.values()) {
+            countFlavor(sales.flavor, sign * sales.units, sign * sales.revenueCents);
+        }
+    }
+
+    private static void add(long[] into, long[] from, int sign) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += sign * from[i];
+        }
+    }
+
+    /**
+     * Aggregates a range of orders, splitting it in half until it is below SPLIT_THRESHOLD.
+     */
+    private static final class AggregateTask extends RecursiveTask<SalesAggregator> {
+        private static final long serialVersionUID = 1L;
+        private final List<PlacedOrder> orders;
+        private final int from;
+        private final int to;
+
+        AggregateTask(List<PlacedOrder> orders, int from, int to) {
+            this.orders = orders;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SalesAggregator compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                SalesAggregator partial = new SalesAggregator();
+                for (int i = from; i < to; i++) {
+                    partial.apply(orders.get(i), 1);
+                }
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(orders, from, mid);
+            left.fork();
+            SalesAggregator right = new AggregateTask(orders, mid, to).compute();
+            SalesAggregator merged = left.join();
+            merged.addAll(right, 1);
+            return merged;
+        }
+    }
+}
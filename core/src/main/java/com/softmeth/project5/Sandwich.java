@@ -0,0 +1,410 @@
+package com.softmeth.project5;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Sandwich class to extend MenuItem abstract class
+ * Represents a Sandwich item in the menu.
+ * It allows specifying the combination of Meat, Bread, and Addons to calculate total price
+ * The whole configuration is stored packed into a single int, which also defines equality.
+ *
+ * @author Ridwan Sharkar
+ */
+public class Sandwich extends MenuItem
+{
+    /**
+     * Enumeration for available meat choices in a sandwich.
+     */
+    public enum MeatChoice  { CHICKEN, FISH, BEEF }
+    /**
+     * Enumeration for available bread choices in a sandwich.
+     */
+    public enum BreadChoice { WHEAT_TOAST, BAGEL, SOUR_DOUGH }
+    /**
+     * Enumeration for available add-ons in a sandwich.
+     */
+    public enum AddOns      { CHEESE, LETTUCE, TOMATOES, ONIONS;
+        /**
+         * Returns the bit this add-on occupies in an add-on mask.
+         *
+         * @return the add-on's mask bit
+         */
+        public int mask() { return 1 << ordinal(); }
+    }
+    private static final MeatChoice[] MEAT_CHOICES = MeatChoice.values();
+    private static final BreadChoice[] BREAD_CHOICES = BreadChoice.values();
+    private static final AddOns[] ADD_ONS = AddOns.values();
+    private final int configCode;
+    private static final long CHICKEN_PRICE_CENTS = 899;
+    private static final long FISH_PRICE_CENTS = 999;
+    private static final long BEEF_PRICE_CENTS = 1099;
+    private static final long CHEESE_PRICE_CENTS = 100;
+    private static final long LETTUCE_PRICE_CENTS = 30;
+    private static final long TOMATOES_PRICE_CENTS = 30;
+    private static final long ONIONS_PRICE_CENTS = 30;
+    /**
+     * Configuration codes pack meat (bits 6-7), bread (bits 4-5) and the add-on mask (bits 0-3).
+     * A meat or bread index of NO_CHOICE marks a selection that has not been made.
+     * Every code below CONFIG_CODE_COUNT is a valid sandwich.
+     */
+    public static final int CONFIG_CODE_COUNT = 1 << 8;
+    private static final int MEAT_SHIFT = 6;
+    private static final int BREAD_SHIFT = 4;
+    private static final int ADD_ON_MASK = 0xF;
+    private static final int NO_CHOICE = 3;
+    /**
+     * Price in cents of every meat, bread, and add-on combination, indexed by configuration code.
+     */
+    private static final long[] PRICE_TABLE_CENTS = buildPriceTable();
+    /*============================================================================================*/
+
+    /**
+     * Constructs a Sandwich object with specified meat, bread, and a list of add-on strings.
+     * Matches meat, bread, and add-on strings to their respective enums, ignoring case.
+     * Repeated add-ons are only counted once.
+     *
+     * @param meatChoice    the choice of meat for the sandwich, given as a string
+     * @param breadChoice   the choice of bread for the sandwich, given as a string
+     * @param addOnsStrings a list of strings representing add-on choices
+     * @throws IllegalArgumentException if any string does not name a known choice
+     */
+    public Sandwich(String meatChoice, String breadChoice, List<String> addOnsStrings)
+    {
+        this.configCode = packCode(meatChoice != null ? parseChoice(MEAT_CHOICES, meatChoice) : null,
+                breadChoice != null ? parseChoice(BREAD_CHOICES, breadChoice) : null, parseAddOnMask(addOnsStrings));
+    }
+
+    /**
+     * Constructs a Sandwich object directly from a packed configuration code.
+     *
+     * @param configCode a code previously returned by getPackedCode()
+     */
+    private Sandwich(int configCode)
+    {
+        this.configCode = configCode;
+    }
+
+    /**
+     * Creates a Sandwich from a packed configuration code, e.g. one read back from storage.
+     *
+     * @param packedCode a code previously returned by getPackedCode()
+     * @return the sandwich described by the code
+     * @throws IllegalArgumentException if the code is out of range
+     */
+    public static Sandwich fromPackedCode(int packedCode)
+    {
+        if (packedCode < 0 || packedCode >= CONFIG_CODE_COUNT) {
+            throw new IllegalArgumentException("Invalid Sandwich Code: " + packedCode);
+        }
+        return new Sandwich(packedCode);
+    }
+
+    /**
+     * Returns the whole configuration of this sandwich packed into a single int.
+     *
+     * @return the packed meat, bread, and add-on code
+     */
+    public int getPackedCode()
+    {
+        return configCode;
+    }
+
+    /**
+     * Gets the meat chosen for this sandwich.
+     *
+     * @return the meat choice, or null if none was chosen
+     */
+    public MeatChoice getMeatChoice()
+    {
+        int meat = configCode >>> MEAT_SHIFT;
+        return meat == NO_CHOICE ? null : MEAT_CHOICES[meat];
+    }
+
+    /**
+     * Gets the bread chosen for this sandwich.
+     *
+     * @return the bread choice, or null if none was chosen
+     */
+    public BreadChoice getBreadChoice()
+    {
+        int bread = (configCode >>> BREAD_SHIFT) & NO_CHOICE;
+        return bread == NO_CHOICE ? null : BREAD_CHOICES[bread];
+    }
+
+    /**
+     * Gets the add-ons chosen for this sandwich as a mask of AddOns.mask() bits.
+     *
+     * @return the add-on mask
+     */
+    public int getAddOnMask()
+    {
+        return configCode & ADD_ON_MASK;
+    }
+
+    /**
+     * Gets the add-ons chosen for this sandwich.
+     *
+     * @return a new set holding the chosen add-ons
+     */
+    public EnumSet<AddOns> getAddOns()
+    {
+        EnumSet<AddOns> addOns = EnumSet.noneOf(AddOns.class);
+        for (AddOns addOn : ADD_ONS) {
+            if ((configCode & addOn.mask()) != 0) {
+                addOns.add(addOn);
+            }
+        }
+        return addOns;
+    }
+
+    /**
+     * Returns the total price of the sandwich in cents, looked up from the precomputed price table.
+     * Overwrites Abstract Method in MenuItem
+     *
+     * @return the total price of the sandwich, in cents
+     */
+    @Override
+    public long priceCents()
+    {
+        return PRICE_TABLE_CENTS[configCode];
+    }
+
+    /**
+     * Looks up the price in cents of a sandwich configuration without constructing a Sandwich.
+     *
+     * @param meatChoice  the chosen meat, or null if none is selected
+     * @param breadChoice the chosen bread, or null if none is selected
+     * @param addOnMask   the selected add-ons, as a combination of AddOns.mask() bits
+     * @return the price of one such sandwich, in cents
+     */
+    public static long lookupPriceCents(MeatChoice meatChoice, BreadChoice breadChoice, int addOnMask)
+    {
+        return PRICE_TABLE_CENTS[packCode(meatChoice, breadChoice, addOnMask)];
+    }
+
+    /**
+     * Packs a meat, bread, and add-on selection into a configuration code, which is also the
+     * sandwich's index in the price table.
+     *
+     * @param meatChoice  the chosen meat, or null
+     * @param breadChoice the chosen bread, or null
+     * @param addOnMask   the selected add-on bits
+     * @return the configuration code
+     * @throws IllegalArgumentException if the mask has bits outside the known add-ons
+     */
+    public static int packCode(MeatChoice meatChoice, BreadChoice breadChoice, int addOnMask)
+    {
+        if ((addOnMask & ~ADD_ON_MASK) != 0) {
+            throw new IllegalArgumentException("Invalid Add-on Selection: " + addOnMask);
+        }
+        int meat = meatChoice != null ? meatChoice.ordinal() : NO_CHOICE;
+        int bread = breadChoice != null ? breadChoice.ordinal() : NO_CHOICE;
+        return (meat << MEAT_SHIFT) | (bread << BREAD_SHIFT) | addOnMask;
+    }
+
+    /**
+     * Packs a meat name, bread label, and add-on names, as accepted by createSandwich(), into a
+     * configuration code without constructing a Sandwich.
+     *
+     * @param meatChoice a string representing the choice of meat, or null
+     * @param breadLabel a string label for the type of bread, e.g. "Wheat Toast"
+     * @param addOns     a list of strings representing the add-ons
+     * @return the configuration code
+     * @throws IllegalArgumentException if any string does not name a known choice
+     */
+    public static int packCode(String meatChoice, String breadLabel, List<String> addOns)
+    {
+        return packCode(meatChoice != null ? parseChoice(MEAT_CHOICES, meatChoice) : null,
+                getBreadChoiceFromString(breadLabel), parseAddOnMask(addOns));
+    }
+
+    /**
+     * Combines the mask bits of the named add-ons, ignoring case. Repeated add-ons are only counted once.
+     *
+     * @param addOnsStrings a list of strings representing add-on choices, or null for none
+     * @return the selected add-ons, as a combination of AddOns.mask() bits
+     * @throws IllegalArgumentException if any string does not name a known add-on
+     */
+    private static int parseAddOnMask(List<String> addOnsStrings)
+    {
+        int addOnMask = 0;
+        if (addOnsStrings != null) {
+            for (String addOnString : addOnsStrings) {
+                addOnMask |= parseChoice(ADD_ONS, addOnString).mask();
+            }
+        }
+        return addOnMask;
+    }
+
+    /**
+     * Computes the price of every configuration code from the meat and add-on prices.
+     * A sandwich without a meat is priced at zero; the bread does not affect the price.
+     *
+     * @return the price table, indexed by configuration code
+     */
+    private static long[] buildPriceTable()
+    {
+        long[] table = new long[CONFIG_CODE_COUNT];
+        for (int code = 0; code < table.length; code++) {
+            int meat = code >>> MEAT_SHIFT;
+            if (meat == NO_CHOICE) {
+                continue;
+            }
+            long totalPrice = meatPriceCents(MEAT_CHOICES[meat]);
+            for (AddOns addOn : ADD_ONS) {
+                if ((code & addOn.mask()) != 0) {
+                    totalPrice += addOnPriceCents(addOn);
+                }
+            }
+            table[code] = totalPrice;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the price of a meat choice in cents.
+     *
+     * @param meatChoice the meat choice
+     * @return the price of the meat, in cents
+     */
+    private static long meatPriceCents(MeatChoice meatChoice)
+    {
+        switch (meatChoice)
+        {
+            case CHICKEN:
+                return CHICKEN_PRICE_CENTS;
+            case FISH:
+                return FISH_PRICE_CENTS;
+            case BEEF:
+                return BEEF_PRICE_CENTS;
+            default:
+                throw new IllegalStateException("Invalid Meat Selection");
+        }
+    }
+
+    /**
+     * Returns the price of an add-on in cents.
+     *
+     * @param addOn the add-on
+     * @return the price of the add-on, in cents
+     */
+    private static long addOnPriceCents(AddOns addOn)
+    {
+        switch (addOn)
+        {
+            case CHEESE:
+                return CHEESE_PRICE_CENTS;
+            case LETTUCE:
+                return LETTUCE_PRICE_CENTS;
+            case TOMATOES:
+                return TOMATOES_PRICE_CENTS;
+            case ONIONS:
+                return ONIONS_PRICE_CENTS;
+            default:
+                throw new IllegalStateException("Invalid Add-on Selection");
+        }
+    }
+
+    /**
+     * Builds the display label of the sandwich including its meat, bread, and list of add-ons.
+     *
+     * @return a string description of the sandwich
+     */
+    @Override
+    protected String buildLabel() {
+        StringBuilder label = new StringBuilder(64)
+                .append("Sandwich: Meat - ").append(getMeatChoice())
+                .append(", Bread - ").append(getBreadChoice())
+                .append(", Add-ons - ");
+        boolean first = true;
+        for (AddOns addOn : ADD_ONS) {
+            if ((configCode & addOn.mask()) != 0) {
+                if (!first) {
+                    label.append(", ");
+                }
+                label.append(addOn.name());
+                first = false;
+            }
+        }
+        return label.toString();
+    }
+
+    /**
+     * Compares this Sandwich with another object for equality (same meat, bread, and add-ons).
+     *
+     * @param obj the object to compare with
+     * @return true if the given object is a Sandwich with the same packed configuration, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return configCode == ((Sandwich) obj).configCode;
+    }
+
+    /**
+     * Returns a hash code value for the sandwich, derived from its packed configuration.
+     *
+     * @return a hash code value for this sandwich
+     */
+    @Override
+    public int hashCode() {
+        return configCode;
+    }
+
+    /**
+     * Factory method to create a new Sandwich instance based on input strings for meat, bread, and add-ons.
+     * This method converts the bread label to its corresponding enum using a helper method and constructs the sandwich.
+     *
+     * @param meatChoice a string representing the choice of meat
+     * @param breadLabel a string label for the type of bread
+     * @param addOns a list of strings representing additional toppings or condiments
+     * @return a new instance of Sandwich configured with specified options
+     */
+    public static Sandwich createSandwich(String meatChoice, String breadLabel, List<String> addOns) {
+        return new Sandwich(packCode(meatChoice, breadLabel, addOns));
+    }
+
+    /**
+     * Finds the enum constant whose name matches the given string, ignoring case,
+     * without allocating an upper-cased copy of the string.
+     *
+     * @param values the constants to search
+     * @param name   the name to look for
+     * @return the matching constant
+     * @throws IllegalArgumentException if no constant matches
+     */
+    private static <E extends Enum<E>> E parseChoice(E[] values, String name) {
+        for (E value : values) {
+            if (value.name().equalsIgnoreCase(name)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown Sandwich Option: " + name);
+    }
+
+    /**
+     * Converts a string label describing the bread type into the corresponding BreadChoice enum.
+     * This method supports translation from human-readable form to enum values used in the system.
+     *
+     * @param breadLabel the string description of the bread
+     * @return the corresponding BreadChoice enum value
+     * @throws IllegalArgumentException if the breadLabel does not correspond to any known bread type
+     */
+    private static BreadChoice getBreadChoiceFromString(String breadLabel) {
+        switch (breadLabel) {
+            case "Wheat Toast":
+                return BreadChoice.WHEAT_TOAST;
+            case "Sour Dough":
+                return BreadChoice.SOUR_DOUGH;
+            case "Bagel":
+                return BreadChoice.BAGEL;
+            default:
+                throw new IllegalArgumentException("Unknown Bread: " + breadLabel);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the column-oriented ColumnarOrderHistory.
+ *
+ * @author Ridwan Sharkar
+ */
+public class ColumnarOrderHistoryTest {
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    @Test
+    public void getOrder_rebuildsSharedItemsFromRows() {
+        Coffee coffee = MenuItems.coffee("VENTI", 3);
+        Donut donut = MenuItems.donut("CAKE", "BLUEBERRY_CAKE");
+        Sandwich sandwich = MenuItems.sandwich(Sandwich.MeatChoice.FISH, Sandwich.BreadChoice.WHEAT_TOAST,
+                Sandwich.AddOns.LETTUCE.mask() | Sandwich.AddOns.ONIONS.mask());
+        PlacedOrder placed = new PlacedOrder(7, 5_000L, Arrays.asList(
+                new OrderLine(coffee, 1), new OrderLine(donut, 6), new OrderLine(sandwich, 2)));
+        ColumnarOrderHistory history = new ColumnarOrderHistory();
+        OrderHeader header = history.add(placed);
+
+        PlacedOrder opened = history.getOrder(header);
+        assertEquals(7, opened.getOrderNumber());
+        assertEquals(5_000L, opened.getPlacedAtMillis());
+        assertEquals(placed.getSubtotalCents(), opened.getSubtotalCents());
+        assertEquals(3, opened.getLines().size());
+        assertSame(coffee, opened.getLines().get(0).getItem());
+        assertSame(donut, opened.getLines().get(1).getItem());
+        assertSame(sandwich, opened.getLines().get(2).getItem());
+        assertEquals(6, opened.getLines().get(1).getQuantity());
+    }
+
+    @Test
+    public void scans_matchWalkingTheOrders() {
+        List<PlacedOrder> orders = randomOrders(2_000, 5L);
+        ColumnarOrderHistory history = new ColumnarOrderHistory();
+        for (PlacedOrder order : orders) {
+            history.add(order);
+        }
+        for (int i = 0; i < orders.size(); i += 97) {
+            assertEquals(orders.get(i).getSubtotalCents(), history.sumOrderCents(orders.get(i).getOrderNumber()));
+        }
+        long from = 3 * DAY_MILLIS;
+        long to = 4 * DAY_MILLIS;
+        for (ItemKind kind : ItemKind.values()) {
+            long units = 0;
+            long revenue = 0;
+            for (PlacedOrder order : orders) {
+                if (order.getPlacedAtMillis() < from || order.getPlacedAtMillis() >= to) {
+                    continue;
+                }
+                for (OrderLine line : order.getLines()) {
+                    if (ItemKind.of(line.getItem()) == kind) {
+                        units += line.getQuantity();
+                        revenue += line.priceCents();
+                    }
+                }
+            }
+            assertEquals(units, history.countUnits(kind, from, to));
+            assertEquals(revenue, history.sumRevenueCents(kind, from, to));
+        }
+        assertEquals(-1, history.sumOrderCents(-5));
+    }
+
+    @Test
+    public void cancel_hidesOrderFromHeadersAndScans() {
+        List<PlacedOrder> orders = randomOrders(100, 9L);
+        ColumnarOrderHistory history = new ColumnarOrderHistory();
+        for (PlacedOrder order : orders) {
+            history.add(order);
+        }
+        long before = history.countUnits(ItemKind.DONUT, 0, Long.MAX_VALUE);
+        PlacedOrder cancelled = orders.get(3);
+        history.cancel(cancelled.getOrderNumber());
+        history.cancel(cancelled.getOrderNumber());
+
+        long cancelledDonuts = 0;
+        for (OrderLine line : cancelled.getLines()) {
+            if (line.getItem() instanceof Donut) {
+                cancelledDonuts += line.getQuantity();
+            }
+        }
+        assertEquals(99, history.getOrderCount());
+        assertNull(history.findHeader(cancelled.getOrderNumber()));
+        assertEquals(before - cancelledDonuts, history.countUnits(ItemKind.DONUT, 0, Long.MAX_VALUE));
+        List<OrderHeader> page = history.getHeaders(2, 3);
+        assertEquals(orders.get(2).getOrderNumber(), page.get(0).getOrderNumber());
+        assertEquals(orders.get(4).getOrderNumber(), page.get(1).getOrderNumber());
+        assertEquals(orders.get(5).getOrderNumber(), page.get(2).getOrderNumber());
+        assertEquals(orders.get(99).getOrderNumber(), history.getHeaders(98, 10).get(0).getOrderNumber());
+        assertTrue(history.getHeaders(99, 10).isEmpty());
+
+        page = history.getHeadersAfter(orders.get(1).getOrderNumber(), 3);
+        assertEquals(orders.get(2).getOrderNumber(), page.get(0).getOrderNumber());
+        assertEquals(orders.get(4).getOrderNumber(), page.get(1).getOrderNumber());
+        assertEquals(orders.get(5).getOrderNumber(), page.get(2).getOrderNumber());
+        assertEquals(orders.get(4).getOrderNumber(),
+                history.getHeadersAfter(cancelled.getOrderNumber(), 1).get(0).getOrderNumber());
+        assertEquals(orders.get(0).getOrderNumber(), history.getHeadersAfter(0, 1).get(0).getOrderNumber());
+        assertTrue(history.getHeadersAfter(orders.get(99).getOrderNumber(), 10).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateOrderNumber_isRejected() {
+        ColumnarOrderHistory history = new ColumnarOrderHistory();
+        PlacedOrder order = new PlacedOrder(1, 0L, Arrays.asList(new OrderLine(MenuItems.coffee(0), 1)));
+        history.add(order);
+        history.add(order);
+    }
+
+    private static List<PlacedOrder> randomOrders(int count, long seed) {
+        Random random = new Random(seed);
+        String[][] donuts = {{"YEAST", "GLAZED_YEAST"}, {"CAKE", "CHOCOLATE_CAKE"}, {"DONUT_HOLE", "JELLY_DONUT_HOLE"}};
+        List<PlacedOrder> orders = new ArrayList<>(count);
+        for (int n = 1; n <= count; n++) {
+            List<OrderLine> lines = new ArrayList<>();
+            for (int i = 1 + random.nextInt(5); i > 0; i--) {
+                MenuItem item;
+                switch (random.nextInt(3)) {
+                    case 0:
+                        item = MenuItems.coffee(random.nextInt(Coffee.CONFIG_CODE_COUNT));
+                        break;
+                    case 1:
+                        String[] donut = donuts[random.nextInt(donuts.length)];
+                        item = MenuItems.donut(donut[0], donut[1]);
+                        break;
+                    default:
+                        item = MenuItems.sandwich(Sandwich.MeatChoice.CHICKEN, Sandwich.BreadChoice.BAGEL,
+                                random.nextInt(16));
+                }
+                lines.add(new OrderLine(item, 1 + random.nextInt(4)));
+            }
+            orders.add(new PlacedOrder(n, n * DAY_MILLIS / 200, lines));
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,51 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for building the donut catalog from the menu's resource arrays.
+ *
+ * @author Ridwan Sharkar
+ */
+public class DonutCatalogTest {
+    private static final String[] NAMES = {"Glazed Yeast", "Chai Cake", "Powdered Donut Hole"};
+    private static final String[] TYPE_LABELS = {"Yeast", "Cake", "Donut Hole"};
+    private static final int[] DRAWABLES = {11, 22, 33};
+
+    @Test
+    public void entries_resolveTypeFlavorPriceAndImage() {
+        DonutCatalog catalog = new DonutCatalog(NAMES, TYPE_LABELS, DRAWABLES);
+        assertEquals(3, catalog.size());
+
+        DonutCatalog.Entry cake = catalog.get(1);
+        assertEquals("Chai Cake", cake.getName());
+        assertEquals(Donut.DonutType.CAKE, cake.getDonutType());
+        assertEquals("CHAI_CAKE", cake.getFlavor());
+        assertEquals(189, cake.getPriceCents());
+        assertEquals("$1.89", cake.getPriceLabel());
+        assertEquals(22, cake.getDrawableRes());
+
+        DonutCatalog.Entry hole = catalog.get(2);
+        assertEquals(Donut.DonutType.DONUT_HOLE, hole.getDonutType());
+        assertEquals("POWDERED_DONUT_HOLE", hole.getFlavor());
+        assertEquals("$0.39", hole.getPriceLabel());
+    }
+
+    @Test
+    public void entries_shareTheInternedDonut() {
+        DonutCatalog catalog = new DonutCatalog(NAMES, TYPE_LABELS, DRAWABLES);
+        assertSame(MenuItems.donut("YEAST", "GLAZED_YEAST"), catalog.get(0).getDonut());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownType_isRejected() {
+        new DonutCatalog(new String[] {"Glazed Cruller"}, TYPE_LABELS, new int[] {1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingImage_isRejected() {
+        new DonutCatalog(NAMES, TYPE_LABELS, new int[] {1, 2});
+    }
+}
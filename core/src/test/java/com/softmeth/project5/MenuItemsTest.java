@@ -0,0 +1,114 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the canonicalizing MenuItems factory.
+ *
+ * @author Ridwan Sharkar
+ */
+public class MenuItemsTest {
+    @Test
+    public void coffee_returnsSharedInstance() {
+        Coffee first = MenuItems.coffee("Grande", 2);
+        assertSame(first, MenuItems.coffee("GRANDE", 2));
+        assertSame(first, MenuItems.coffee(first.getPackedCode()));
+        assertSame(first, MenuItems.intern(new Coffee("grande", 2)));
+        assertNotSame(first, MenuItems.coffee("Grande", 3));
+    }
+
+    @Test
+    public void coffee_equalityFollowsConfiguration() {
+        assertEquals(new Coffee("Tall", 1), new Coffee("TALL", 1));
+        assertEquals(new Coffee("Tall", 1).hashCode(), new Coffee("TALL", 1).hashCode());
+        assertNotEquals(new Coffee("Tall", 1), new Coffee("Venti", 1));
+        assertEquals(new Coffee("Venti", 4), Coffee.fromPackedCode(new Coffee("Venti", 4).getPackedCode()));
+    }
+
+    @Test
+    public void sandwich_returnsSharedInstance() {
+        Sandwich first = MenuItems.sandwich(Sandwich.MeatChoice.BEEF, Sandwich.BreadChoice.BAGEL,
+                Sandwich.AddOns.CHEESE.mask());
+        assertSame(first, MenuItems.sandwich("beef", "Bagel", Arrays.asList("CHEESE")));
+        assertSame(first, MenuItems.sandwich(first.getPackedCode()));
+    }
+
+    @Test
+    public void stringPackCodes_matchConstructedItems() {
+        for (String cupSize : Arrays.asList("Short", "tall", "GRANDE", "Venti")) {
+            for (int addons = 0; addons <= Coffee.MAX_ADDONS; addons++) {
+                assertEquals(new Coffee(cupSize, addons).getPackedCode(), Coffee.packCode(cupSize, addons));
+            }
+        }
+        assertEquals(new Sandwich("fish", "SOUR_DOUGH", Arrays.asList("Onions", "cheese", "ONIONS")).getPackedCode(),
+                Sandwich.packCode("fish", "Sour Dough", Arrays.asList("Onions", "cheese", "ONIONS")));
+        assertEquals(new Sandwich(null, "WHEAT_TOAST", null).getPackedCode(),
+                Sandwich.packCode(null, "Wheat Toast", null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void coffee_unknownCupSize_isRejected() {
+        MenuItems.coffee("Trenta", 0);
+    }
+
+    @Test
+    public void labels_areBuiltOnceAndReused() {
+        Coffee coffee = new Coffee("Tall", 3);
+        assertEquals("Coffee: Size-TALL, Added Flavors-3", coffee.toString());
+        assertSame(coffee.toString(), coffee.toString());
+        Donut donut = new Donut("CAKE", "MOCHA_CAKE");
+        assertEquals("Donut: MOCHA_CAKE", donut.toString());
+        assertSame(donut.toString(), donut.toString());
+    }
+
+    @Test
+    public void packedCode_outOfRange_isRejected() {
+        int[] codes = {-1, Coffee.CONFIG_CODE_COUNT};
+        for (int code : codes) {
+            try {
+                MenuItems.coffee(code);
+                fail("Expected IllegalArgumentException for " + code);
+            } catch (IllegalArgumentException expected) {
+                // Range-checked before the intern table is indexed.
+            }
+        }
+        try {
+            MenuItems.sandwich(Sandwich.CONFIG_CODE_COUNT);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+            // Range-checked before the intern table is indexed.
+        }
+    }
+
+    @Test
+    public void donut_returnsSharedInstance() {
+        Donut first = MenuItems.donut("YEAST", "GLAZED_YEAST");
+        assertSame(first, MenuItems.donut("YEAST", "GLAZED_YEAST"));
+        assertSame(first, MenuItems.intern((MenuItem) new Donut("YEAST", "GLAZED_YEAST")));
+    }
+
+    @Test
+    public void donutTable_isBounded() {
+        for (int i = 0; i < MenuItems.MAX_INTERNED_DONUTS * 2; i++) {
+            Donut donut = MenuItems.donut("CAKE", "FLAVOR_" + i);
+            assertEquals(new Donut("CAKE", "FLAVOR_" + i), donut);
+        }
+        assertTrue(MenuItems.internedDonutCount() <= MenuItems.MAX_INTERNED_DONUTS);
+    }
+
+    @Test
+    public void internedItems_mergeOrderLines() {
+        Order.getInstance().resetOrder();
+        Order order = Order.getInstance();
+        order.addItem(MenuItems.coffee("Short", 0), 2);
+        order.addItem(new Coffee("Short", 0), 3);
+        assertEquals(1, order.getLines().size());
+        assertEquals(5, order.getLines().get(0).getQuantity());
+        order.removeItem(new Coffee("SHORT", 0));
+        assertTrue(order.isEmpty());
+    }
+}
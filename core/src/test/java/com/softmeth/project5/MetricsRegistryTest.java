@@ -0,0 +1,164 @@
+package com.softmeth.project5;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the counters, latency histograms and dumps of MetricsRegistry.
+ *
+ * @author Ridwan Sharkar
+ */
+public class MetricsRegistryTest {
+
+    @After
+    public void tearDown() {
+        MetricsRegistry.getDefault().setEnabled(false);
+        MetricsRegistry.getDefault().reset();
+    }
+
+    @Test
+    public void bucketIndex_boundsContainValue() {
+        for (long value : new long[]{0, 1, 7, 8, 9, 15, 16, 100, 1_000, 123_456, 1L << 40,
+                MetricsRegistry.Histogram.MAX_TRACKABLE_NANOS}) {
+            int index = MetricsRegistry.Histogram.bucketIndex(value);
+            assertTrue(value + " below bucket", MetricsRegistry.Histogram.bucketLowerBound(index) <= value);
+            assertTrue(value + " above bucket", MetricsRegistry.Histogram.bucketUpperBound(index) >= value);
+        }
+        assertEquals(MetricsRegistry.Histogram.bucketIndex(MetricsRegistry.Histogram.MAX_TRACKABLE_NANOS),
+                MetricsRegistry.Histogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentiles_withinBucketPrecision() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setEnabled(true);
+        MetricsRegistry.Histogram histogram = registry.histogram("test");
+        for (long nanos = 1; nanos <= 10_000; nanos++) {
+            histogram.record(nanos * 100);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(500_050, histogram.getMeanNanos());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertEquals(1_000_000, histogram.getPercentileNanos(100));
+        assertWithinPrecision(500_000, histogram.getPercentileNanos(50));
+        assertWithinPrecision(990_000, histogram.getPercentileNanos(99));
+        assertWithinPrecision(100, histogram.getPercentileNanos(0));
+    }
+
+    @Test
+    public void disabledRegistry_recordsNothing() {
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Histogram histogram = registry.histogram("test");
+        MetricsRegistry.Counter counter = registry.counter("test");
+        histogram.stop(histogram.start());
+        histogram.record(5);
+        counter.increment();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(50));
+        assertEquals(0, counter.get());
+
+        registry.setEnabled(true);
+        histogram.stop(histogram.start());
+        counter.add(3);
+        assertEquals(1, histogram.getCount());
+        assertEquals(3, counter.get());
+    }
+
+    @Test
+    public void sameName_returnsSameMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+        assertSame(registry.counter("a"), registry.counter("a"));
+        assertSame(registry.histogram("a"), registry.histogram("a"));
+    }
+
+    @Test
+    public void concurrentRecording_losesNothing() throws InterruptedException {
+        final MetricsRegistry registry = new MetricsRegistry();
+        registry.setEnabled(true);
+        final MetricsRegistry.Histogram histogram = registry.histogram("test");
+        final MetricsRegistry.Counter counter = registry.counter("test");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i + offset);
+                    counter.increment();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(40_000, counter.get());
+        assertEquals(10_002, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void orderOperations_recordedInDefaultRegistry() {
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        registry.reset();
+        registry.setEnabled(true);
+        Order.getInstance().resetOrder();
+        Order order = Order.getInstance();
+        Donut glazed = MenuItems.donut("YEAST", "GLAZED_YEAST");
+        order.addItem(glazed, 2);
+        order.addItem(MenuItems.coffee("TALL", 0));
+        order.removeItem(glazed);
+        order.resetOrder();
+
+        assertEquals(2, registry.histogram("order.addItem").getCount());
+        assertEquals(2, registry.histogram("order.priceItem").getCount());
+        assertEquals(1, registry.histogram("order.removeItem").getCount());
+        assertEquals(3, registry.counter("order.unitsAdded").get());
+    }
+
+    @Test
+    public void dumps_listEveryMetricByName() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setEnabled(true);
+        registry.counter("order.placed").add(7);
+        registry.histogram("order.addItem").record(1_000);
+        registry.histogram("a \"quoted\" name").record(1);
+
+        String text = registry.toString();
+        assertTrue(text, text.contains("order.placed 7\n"));
+        assertTrue(text, text.contains("order.addItem count=1 mean=1000ns"));
+
+        StringBuilder json = new StringBuilder();
+        registry.writeJson(json);
+        assertTrue(json.toString(), json.toString().startsWith("{\"enabled\":true,\"counters\":{\"order.placed\":7}"));
+        assertTrue(json.toString(), json.toString().contains("\"order.addItem\":{\"count\":1,\"meanNanos\":1000,"));
+        assertTrue(json.toString(), json.toString().contains("\"a \\\"quoted\\\" name\":{"));
+
+        File file = Files.createTempFile("metrics", ".json").toFile();
+        try {
+            registry.writeTo(file, true);
+            assertEquals(json.toString(), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            assertFalse(new File(file.getPath() + ".tmp").exists());
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(expected + " vs " + actual,
+                Math.abs(actual - expected) <= expected / MetricsRegistry.Histogram.SUB_BUCKETS);
+    }
+}
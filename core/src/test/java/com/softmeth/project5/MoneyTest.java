@@ -0,0 +1,30 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the cent-based Money helpers.
+ *
+ * @author Ridwan Sharkar
+ */
+public class MoneyTest {
+    @Test
+    public void format_padsCents() {
+        assertEquals("$0.00", Money.format(0));
+        assertEquals("$0.05", Money.format(5));
+        assertEquals("$1.79", Money.format(179));
+        assertEquals("$10.99", Money.format(1099));
+        assertEquals("$1234.50", Money.format(123450));
+        assertEquals("-$0.30", Money.format(-30));
+    }
+
+    @Test
+    public void applyRate_roundsHalfUp() {
+        assertEquals(34, Money.applyRate(488, 700)); // 34.16
+        assertEquals(35, Money.applyRate(500, 700)); // 35.00
+        assertEquals(1, Money.applyRate(8, 700));    // 0.56
+        assertEquals(0, Money.applyRate(7, 700));    // 0.49
+    }
+}
@@ -0,0 +1,180 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the binary encoding of menu items and orders in OrderCodec.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderCodecTest {
+
+    @Test
+    public void varint_roundTripsAndCountsBytes() throws IOException {
+        long[] values = {0, 1, 127, 128, 300, 16_383, 16_384, Integer.MAX_VALUE, 1_700_000_000_000L,
+                Long.MAX_VALUE, -1};
+        ByteBuffer buffer = ByteBuffer.allocate(200);
+        for (long value : values) {
+            int before = buffer.position();
+            OrderCodec.writeVarint(buffer, value);
+            assertEquals(OrderCodec.varintSize(value), buffer.position() - before);
+        }
+        assertEquals(1, OrderCodec.varintSize(127));
+        assertEquals(2, OrderCodec.varintSize(128));
+        assertEquals(10, OrderCodec.varintSize(-1));
+        buffer.flip();
+        for (long value : values) {
+            assertEquals(value, OrderCodec.readVarint(buffer));
+        }
+    }
+
+    @Test
+    public void everyItem_roundTripsToSharedInstance() throws IOException {
+        List<MenuItem> items = new ArrayList<>();
+        for (int code = 0; code < Coffee.CONFIG_CODE_COUNT; code++) {
+            items.add(MenuItems.coffee(code));
+        }
+        for (int code = 0; code < Sandwich.CONFIG_CODE_COUNT; code++) {
+            if (isValidSandwichCode(code)) {
+                items.add(MenuItems.sandwich(code));
+            }
+        }
+        items.add(MenuItems.donut("YEAST", "GLAZED_YEAST"));
+        items.add(MenuItems.donut("DONUT_HOLE", "LEMON_DONUT_HOLE"));
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        for (MenuItem item : items) {
+            OrderCodec.writeItem(buffer, item);
+        }
+        buffer.flip();
+        for (MenuItem item : items) {
+            assertSame(item, OrderCodec.readItem(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void placedOrder_roundTrips() throws IOException {
+        PlacedOrder order = new PlacedOrder(4_321, 1_700_000_000_000L, Arrays.asList(
+                new OrderLine(MenuItems.coffee("VENTI", 3), 2),
+                new OrderLine(MenuItems.donut("CAKE", "CHOCOLATE_CAKE"), 300),
+                new OrderLine(MenuItems.sandwich(Sandwich.MeatChoice.FISH, Sandwich.BreadChoice.BAGEL,
+                        Sandwich.AddOns.CHEESE.mask()), 1),
+                new OrderLine(new Donut("YEAST", "Crème brûlée 🍩"), 1)));
+        byte[] bytes = OrderCodec.encode(order);
+        assertEquals(OrderCodec.encodedSize(order), bytes.length);
+
+        PlacedOrder decoded = OrderCodec.decode(bytes);
+        assertEquals(order.getOrderNumber(), decoded.getOrderNumber());
+        assertEquals(order.getPlacedAtMillis(), decoded.getPlacedAtMillis());
+        assertSameLines(order.getLines(), decoded.getLines());
+        assertEquals(order.getSubtotalCents(), decoded.getSubtotalCents());
+    }
+
+    @Test
+    public void typicalLine_takesFewBytes() {
+        PlacedOrder order = new PlacedOrder(7, 0, Collections.singletonList(
+                new OrderLine(MenuItems.coffee("TALL", 1), 2)));
+        assertEquals(1 + 1 + 1 + 1 + 3, OrderCodec.encode(order).length);
+    }
+
+    @Test
+    public void currentOrder_roundTripsThroughAddLines() throws IOException {
+        Order.getInstance().resetOrder();
+        Order order = Order.getInstance();
+        order.addItem(MenuItems.donut("YEAST", "JELLY_YEAST"), 12);
+        order.addItem(MenuItems.coffee("SHORT", 0));
+        byte[] bytes = OrderCodec.encode(order);
+        long subtotal = order.getSubtotalCents();
+
+        order.resetOrder();
+        Order.getInstance().addLines(OrderCodec.readLines(ByteBuffer.wrap(bytes)));
+        assertEquals(subtotal, Order.getInstance().getSubtotalCents());
+        assertEquals(13, Order.getInstance().getItemCount());
+        Order.getInstance().resetOrder();
+    }
+
+    @Test
+    public void ordersBackToBack_readFromOneBuffer() throws IOException {
+        PlacedOrder first = new PlacedOrder(1, 10L, Collections.singletonList(
+                new OrderLine(MenuItems.donut("CAKE", "CHAI_CAKE"), 1)));
+        PlacedOrder second = new PlacedOrder(2, 20L, Collections.singletonList(
+                new OrderLine(MenuItems.coffee("GRANDE", 2), 3)));
+        ByteBuffer buffer = ByteBuffer.allocate(OrderCodec.encodedSize(first) + OrderCodec.encodedSize(second));
+        OrderCodec.writeOrder(buffer, first);
+        OrderCodec.writeOrder(buffer, second);
+        buffer.flip();
+        assertEquals(1, OrderCodec.readOrder(buffer).getOrderNumber());
+        assertSameLines(second.getLines(), OrderCodec.readOrder(buffer).getLines());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void malformedInput_isRejected() {
+        byte[] bytes = OrderCodec.encode(new PlacedOrder(1, 10L, Collections.singletonList(
+                new OrderLine(MenuItems.donut("CAKE", "CHAI_CAKE"), 1))));
+        assertRejected(Arrays.copyOf(bytes, bytes.length - 3), EOFException.class);
+
+        byte[] wrongVersion = bytes.clone();
+        wrongVersion[0] = 2;
+        assertRejected(wrongVersion, IOException.class);
+
+        byte[] badCoffee = {OrderCodec.FORMAT_VERSION, 1, 0, 1, 0, (byte) 0xFF, 0x7F, 1};
+        assertRejected(badCoffee, IOException.class);
+
+        byte[] unknownKind = {OrderCodec.FORMAT_VERSION, 1, 0, 1, 9, 0, 1};
+        assertRejected(unknownKind, IOException.class);
+
+        byte[] negativeCode = {OrderCodec.FORMAT_VERSION, 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 1, 1};
+        assertLinesRejected(negativeCode);
+
+        byte[] overlongVarint = {OrderCodec.FORMAT_VERSION, 1, 0, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 2, 1};
+        assertLinesRejected(overlongVarint);
+    }
+
+    private static void assertSameLines(List<OrderLine> expected, List<OrderLine> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getItem(), actual.get(i).getItem());
+            assertEquals(expected.get(i).getQuantity(), actual.get(i).getQuantity());
+        }
+    }
+
+    private static void assertRejected(byte[] bytes, Class<? extends IOException> expected) {
+        try {
+            OrderCodec.decode(bytes);
+            fail("Expected " + expected.getSimpleName());
+        } catch (IOException e) {
+            assertTrue(e.toString(), expected.isInstance(e));
+        }
+    }
+
+    private static void assertLinesRejected(byte[] bytes) {
+        try {
+            OrderCodec.readLines(ByteBuffer.wrap(bytes));
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals(IOException.class, e.getClass());
+        }
+    }
+
+    private static boolean isValidSandwichCode(int code) {
+        try {
+            Sandwich.fromPackedCode(code).priceCents();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.softmeth.project5;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Stress tests that hammer the current Order from many threads at once and check that the running
+ * totals, the lines and the order numbers stay consistent.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int STEPS_PER_THREAD = 20_000;
+    private static final List<MenuItem> MENU = Arrays.asList(
+            MenuItems.donut("YEAST", "GLAZED_YEAST"),
+            MenuItems.donut("CAKE", "CHAI_CAKE"),
+            MenuItems.donut("DONUT_HOLE", "LEMON_DONUT_HOLE"),
+            MenuItems.coffee("Short", 0),
+            MenuItems.coffee("Venti", 5),
+            MenuItems.sandwich("BEEF", "Bagel", Arrays.asList("CHEESE", "ONIONS")));
+
+    @Before
+    public void setUp() {
+        Order.getInstance().resetOrder();
+    }
+
+    @Test
+    public void concurrentAddRemovePlace_keepTotalsConsistent() throws InterruptedException {
+        final Queue<Order> sealed = new ConcurrentLinkedQueue<>();
+        runThreads(seed -> {
+            Random random = new Random(seed);
+            for (int step = 0; step < STEPS_PER_THREAD; step++) {
+                int action = random.nextInt(100);
+                MenuItem item = MENU.get(random.nextInt(MENU.size()));
+                if (action < 70) {
+                    Order.getInstance().addItem(item, 1 + random.nextInt(3));
+                } else if (action < 98) {
+                    Order.getInstance().removeItem(item);
+                } else {
+                    sealed.add(Order.sealAndReset());
+                }
+            }
+        });
+        sealed.add(Order.sealAndReset());
+
+        Set<Integer> orderNumbers = new HashSet<>();
+        for (Order order : sealed) {
+            assertTrue(order.isSealed());
+            assertTrue(orderNumbers.add(order.getOrderNumber()));
+            assertEquals(order.recalculateTotalCents(), order.getSubtotalCents());
+            assertEquals(order.getSubtotalCents() + order.getTaxCents(), order.getTotalCents());
+            assertEquals(new HashSet<>(order.getLines()).size(), order.getLines().size());
+        }
+    }
+
+    @Test
+    public void concurrentAddsAndPlaces_loseNoUnits() throws InterruptedException {
+        final Queue<Order> sealed = new ConcurrentLinkedQueue<>();
+        final AtomicLong unitsAdded = new AtomicLong();
+        final AtomicLong centsAdded = new AtomicLong();
+        runThreads(seed -> {
+            Random random = new Random(seed);
+            for (int step = 0; step < STEPS_PER_THREAD; step++) {
+                if (random.nextInt(100) == 0) {
+                    sealed.add(Order.sealAndReset());
+                } else {
+                    MenuItem item = MENU.get(random.nextInt(MENU.size()));
+                    int quantity = 1 + random.nextInt(3);
+                    Order.getInstance().addItem(item, quantity);
+                    unitsAdded.addAndGet(quantity);
+                    centsAdded.addAndGet(item.priceCents() * quantity);
+                }
+            }
+        });
+        sealed.add(Order.sealAndReset());
+
+        long units = 0;
+        long cents = 0;
+        for (Order order : sealed) {
+            units += order.getItemCount();
+            cents += order.getSubtotalCents();
+        }
+        assertEquals(unitsAdded.get(), units);
+        assertEquals(centsAdded.get(), cents);
+    }
+
+    @Test
+    public void addToSealedOrder_goesToReplacement() {
+        Order placed = Order.getInstance();
+        Order.sealAndReset();
+        placed.addItem(MENU.get(0), 2);
+        placed.removeItem(MENU.get(0));
+        assertTrue(placed.isEmpty());
+        assertEquals(2, Order.getInstance().getItemCount());
+    }
+
+    @Test
+    public void reserveOrderNumbers_isMonotonicUnderContention() throws InterruptedException {
+        final int base = Order.getInstance().getOrderNumber() + 1_000;
+        runThreads(seed -> {
+            for (int i = 0; i < 1_000; i++) {
+                Order.reserveOrderNumbersThrough(base + (int) ((seed * 31 + i * 7) % 500));
+            }
+        });
+        Order.getInstance().resetOrder();
+        assertEquals(base + 500, Order.getInstance().getOrderNumber());
+    }
+
+    @Test
+    public void concurrentPlacement_pagesEveryOrderOnceByNumber() throws Exception {
+        final OrderHistory history = new OrderHistory();
+        final ColumnarOrderHistory columns = new ColumnarOrderHistory();
+        final AggregatingOrderHistory both = new AggregatingOrderHistory(history) {
+            @Override
+            public OrderHeader add(PlacedOrder order) throws IOException {
+                columns.add(order);
+                return super.add(order);
+            }
+        };
+        final Queue<Integer> placed = new ConcurrentLinkedQueue<>();
+        runThreads(seed -> {
+            try {
+                for (int i = 0; i < 500; i++) {
+                    Order.getInstance().addItem(MENU.get((int) ((seed + i) % MENU.size())));
+                    PlacedOrder order = Order.placeOrder(both, i);
+                    if (order != null) {
+                        placed.add(order.getOrderNumber());
+                    }
+                }
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        List<Integer> expected = new ArrayList<>(placed);
+        Collections.sort(expected);
+        assertEquals(expected, pageByNumber(history));
+        assertEquals(expected, pageByNumber(columns));
+    }
+
+    private static List<Integer> pageByNumber(OrderHistoryStore store) throws IOException {
+        List<Integer> numbers = new ArrayList<>();
+        int last = 0;
+        List<OrderHeader> page;
+        while (!(page = store.getHeadersAfter(last, 7)).isEmpty()) {
+            for (OrderHeader header : page) {
+                numbers.add(header.getOrderNumber());
+            }
+            last = page.get(page.size() - 1).getOrderNumber();
+        }
+        return numbers;
+    }
+
+    private interface Worker {
+        void run(long seed);
+    }
+
+    private static void runThreads(final Worker worker) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final long seed = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    worker.run(seed);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.toString(), failures.isEmpty());
+    }
+}
@@ -0,0 +1,392 @@
+package com.softmeth.project5;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the append-only OrderLog and the OrderHistory built on it.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderLogTest {
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("orders", ".log").toFile();
+        assertTrue(file.delete());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void appendedOrders_replayInOrder() throws IOException {
+        try (OrderLog log = new OrderLog(file, 2)) {
+            log.appendOrder(order(1, MenuItems.donut("YEAST", "GLAZED_YEAST"), 12));
+            log.appendOrder(order(2, MenuItems.coffee("Venti", 3), 2));
+            log.appendCancellation(1);
+            log.appendOrder(order(3, MenuItems.sandwich("FISH", "Bagel", Arrays.asList("CHEESE")), 1));
+        }
+        final List<PlacedOrder> orders = new ArrayList<>();
+        final List<Integer> cancels = new ArrayList<>();
+        try (OrderLog log = new OrderLog(file)) {
+            assertEquals(3, log.getLastOrderNumber());
+            log.replay(new OrderLog.Visitor() {
+                @Override
+                public void onOrder(PlacedOrder order) { orders.add(order); }
+                @Override
+                public void onCancel(int orderNumber) { cancels.add(orderNumber); }
+            });
+        }
+        assertEquals(3, orders.size());
+        assertEquals(Arrays.asList(1), cancels);
+        PlacedOrder first = orders.get(0);
+        assertEquals(1, first.getOrderNumber());
+        assertEquals(1_000L, first.getPlacedAtMillis());
+        assertSame(MenuItems.donut("YEAST", "GLAZED_YEAST"), first.getLines().get(0).getItem());
+        assertEquals(12, first.getItemCount());
+        assertEquals(12 * 179, first.getSubtotalCents());
+        assertSame(MenuItems.coffee("Venti", 3), orders.get(1).getLines().get(0).getItem());
+        assertEquals(MenuItems.sandwich("FISH", "Bagel", Arrays.asList("CHEESE")),
+                orders.get(2).getLines().get(0).getItem());
+    }
+
+    @Test
+    public void lastOrderNumber_skipsTrailingCancellations() throws IOException {
+        try (OrderLog log = new OrderLog(file)) {
+            log.appendOrder(order(7, MenuItems.coffee("Tall", 0), 1));
+            log.appendCancellation(7);
+            log.appendCancellation(7);
+        }
+        try (OrderLog log = new OrderLog(file)) {
+            assertEquals(7, log.getLastOrderNumber());
+        }
+    }
+
+    @Test
+    public void appendOrder_rejectsNumbersNotAboveTheLast() throws IOException {
+        try (OrderLog log = new OrderLog(file)) {
+            log.appendOrder(order(5, MenuItems.coffee("Tall", 0), 1));
+            long size = file.length();
+            for (int number : new int[] {5, 4}) {
+                try {
+                    log.appendOrder(order(number, MenuItems.coffee("Tall", 0), 1));
+                    fail("Expected IllegalArgumentException for " + number);
+                } catch (IllegalArgumentException expected) {
+                    assertEquals(size, file.length());
+                }
+            }
+            log.appendOrder(order(6, MenuItems.coffee("Tall", 0), 1));
+        }
+        try (OrderLog log = new OrderLog(file)) {
+            assertEquals(6, log.getLastOrderNumber());
+        }
+    }
+
+    @Test
+    public void tornTail_isTruncatedOnOpen() throws IOException {
+        try (OrderLog log = new OrderLog(file)) {
+            log.appendOrder(order(1, MenuItems.coffee("Tall", 0), 1));
+            log.appendOrder(order(2, MenuItems.coffee("Tall", 1), 1));
+        }
+        long intactLength;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            intactLength = raf.length();
+            raf.setLength(intactLength - 3);
+        }
+        try (OrderLog log = new OrderLog(file)) {
+            assertEquals(1, log.getLastOrderNumber());
+            assertTrue(file.length() < intactLength);
+            log.appendOrder(order(3, MenuItems.coffee("Tall", 2), 1));
+        }
+        OrderHistory history = new OrderHistory(new OrderLog(file));
+        assertEquals(2, history.getOrderCount());
+        assertEquals(3, history.getHeaders(1, 1).get(0).getOrderNumber());
+    }
+
+    @Test
+    public void corruptRecord_endsReplay() throws IOException {
+        try (OrderLog log = new OrderLog(file)) {
+            log.appendOrder(order(1, MenuItems.coffee("Short", 0), 1));
+            log.appendOrder(order(2, MenuItems.coffee("Short", 1), 1));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length() - 12);
+            raf.write(0x7F);
+        }
+        OrderHistory history = new OrderHistory(new OrderLog(file));
+        assertEquals(1, history.getOrderCount());
+    }
+
+    @Test(expected = IOException.class)
+    public void foreignFile_isRejected() throws IOException {
+        Files.write(file.toPath(), "not a log".getBytes("UTF-8"));
+        new OrderLog(file);
+    }
+
+    @Test
+    public void shortWrite_isRolledBackSoLaterAppendsReplay() throws IOException {
+        final boolean[] failNext = {false};
+        OrderLog log = new OrderLog(file, 1) {
+            @Override
+            void writeFrame(ByteBuffer frame) throws IOException {
+                if (failNext[0]) {
+                    failNext[0] = false;
+                    ByteBuffer prefix = frame.duplicate();
+                    prefix.limit(prefix.position() + prefix.remaining() / 2);
+                    super.writeFrame(prefix);
+                    throw new IOException("No space left on device");
+                }
+                super.writeFrame(frame);
+            }
+        };
+        try {
+            log.appendOrder(order(1, MenuItems.donut("YEAST", "GLAZED_YEAST"), 1));
+            long sizeBefore = file.length();
+            failNext[0] = true;
+            try {
+                log.appendOrder(order(2, MenuItems.coffee("Tall", 1), 1));
+                fail("Expected the short write to fail");
+            } catch (IOException expected) {
+                assertEquals(sizeBefore, file.length());
+            }
+            log.appendOrder(order(3, MenuItems.coffee("Venti", 2), 1));
+            log.appendCancellation(1);
+        } finally {
+            log.close();
+        }
+
+        final List<Integer> orders = new ArrayList<>();
+        final List<Integer> cancels = new ArrayList<>();
+        try (OrderLog reopened = new OrderLog(file)) {
+            assertEquals(3, reopened.getLastOrderNumber());
+            reopened.replay(new OrderLog.Visitor() {
+                @Override
+                public void onOrder(PlacedOrder order) { orders.add(order.getOrderNumber()); }
+                @Override
+                public void onCancel(int orderNumber) { cancels.add(orderNumber); }
+            });
+        }
+        assertEquals(Arrays.asList(1, 3), orders);
+        assertEquals(Arrays.asList(1), cancels);
+    }
+
+    @Test
+    public void failedSync_rollsBackTheRecordSoARetryLogsItOnce() throws IOException {
+        final boolean[] failNext = {false};
+        OrderLog log = new OrderLog(file, 1) {
+            @Override
+            void force() throws IOException {
+                if (failNext[0]) {
+                    failNext[0] = false;
+                    throw new IOException("Input/output error");
+                }
+                super.force();
+            }
+        };
+        try {
+            log.appendOrder(order(1, MenuItems.donut("YEAST", "GLAZED_YEAST"), 1));
+            long sizeBefore = file.length();
+            failNext[0] = true;
+            try {
+                log.appendOrder(order(2, MenuItems.coffee("Tall", 1), 1));
+                fail("Expected the sync to fail");
+            } catch (IOException expected) {
+                assertEquals(sizeBefore, file.length());
+                assertEquals(1, log.getLastOrderNumber());
+            }
+            log.appendOrder(order(2, MenuItems.coffee("Tall", 1), 1));
+        } finally {
+            log.close();
+        }
+
+        final List<Integer> orders = new ArrayList<>();
+        try (OrderLog reopened = new OrderLog(file)) {
+            assertEquals(2, reopened.getLastOrderNumber());
+            reopened.replay(new OrderLog.Visitor() {
+                @Override
+                public void onOrder(PlacedOrder order) { orders.add(order.getOrderNumber()); }
+                @Override
+                public void onCancel(int orderNumber) {}
+            });
+        }
+        assertEquals(Arrays.asList(1, 2), orders);
+    }
+
+    @Test
+    public void badItemCode_isReportedAsIOException() throws IOException {
+        OrderLog log = new OrderLog(file) {
+            @Override
+            void writeFrame(ByteBuffer frame) throws IOException {
+                // Payload: order number, placement time, then OrderCodec's version, line count, item kind and code.
+                int length = frame.getInt(0);
+                frame.put(4 + 1 + 4 + 8 + 1 + 1 + 1, (byte) 0x7F);
+                CRC32 crc = new CRC32();
+                crc.update(frame.get(4));
+                crc.update(frame.array(), 5, length);
+                frame.putInt(5 + length, (int) crc.getValue());
+                super.writeFrame(frame);
+            }
+        };
+        try {
+            long coffee = log.appendOrder(order(1, MenuItems.coffee("Tall", 1), 1));
+            long donut = log.appendOrder(order(2, MenuItems.donut("YEAST", "GLAZED_YEAST"), 1));
+            assertUnreadable(log, coffee);
+            assertUnreadable(log, donut);
+        } finally {
+            log.close();
+        }
+    }
+
+    @Test
+    public void history_appliesCancellationsOnReplay() throws IOException {
+        OrderHistory history = new OrderHistory(new OrderLog(file));
+        history.add(order(1, MenuItems.coffee("Grande", 0), 1));
+        history.add(order(2, MenuItems.coffee("Grande", 1), 1));
+        history.cancel(1);
+        history.sync();
+        assertEquals(1, history.getOrderCount());
+        history.add(order(3, MenuItems.coffee("Grande", 2), 1));
+        assertEquals(2, history.getOrderCount());
+
+        OrderHistory reopened = new OrderHistory(new OrderLog(file));
+        List<OrderHeader> headers = reopened.getHeaders(0, 10);
+        assertEquals(2, headers.size());
+        assertEquals(2, headers.get(0).getOrderNumber());
+        assertEquals(3, headers.get(1).getOrderNumber());
+    }
+
+    @Test
+    public void history_pagesHeadersAndLoadsDetailsOnDemand() throws IOException {
+        OrderHistory history = new OrderHistory(new OrderLog(file));
+        for (int number = 1; number <= 45; number++) {
+            history.add(order(number, MenuItems.donut("CAKE", "CHAI_CAKE"), number));
+        }
+        OrderHistory reopened = new OrderHistory(new OrderLog(file));
+        assertEquals(45, reopened.getOrderCount());
+        assertEquals(20, reopened.getHeaders(0, 20).size());
+        assertEquals(5, reopened.getHeaders(40, 20).size());
+        assertTrue(reopened.getHeaders(60, 20).isEmpty());
+
+        OrderHeader header = reopened.getHeaders(41, 1).get(0);
+        assertEquals(42, header.getOrderNumber());
+        assertEquals(42, header.getItemCount());
+        assertEquals(42 * 189, header.getSubtotalCents());
+        PlacedOrder opened = reopened.getOrder(header);
+        assertEquals(42 * 189, opened.getSubtotalCents());
+        assertEquals(Arrays.asList("Donut: CHAI_CAKE x42"), opened.getDescriptions());
+        assertSame(opened, reopened.getOrder(header));
+        assertSame(opened.getDescriptions(), opened.getDescriptions());
+    }
+
+    @Test
+    public void history_cancellationKeepsOrderNumbersAndPaging() throws IOException {
+        OrderHistory history = new OrderHistory(new OrderLog(file));
+        for (int number = 1; number <= 100; number++) {
+            history.add(order(number, MenuItems.donut("CAKE", "CHAI_CAKE"), 1));
+        }
+        for (int number = 2; number <= 100; number += 3) {
+            history.cancel(number);
+        }
+        history.cancel(1_000);
+        assertNull(history.findHeader(2));
+        assertEquals(4, history.findHeader(4).getOrderNumber());
+        assertEquals(67, history.getOrderCount());
+        assertEquals(Arrays.asList(1, 3, 4, 6), numbers(history.getHeaders(0, 4)));
+        assertEquals(Arrays.asList(99, 100), numbers(history.getHeaders(65, 10)));
+
+        for (int number = 1; number <= 60; number++) {
+            history.cancel(number);
+        }
+        assertEquals(27, history.getOrderCount());
+        assertEquals(61, history.getHeaders(0, 1).get(0).getOrderNumber());
+        assertEquals(100, history.findHeader(100).getOrderNumber());
+        history.sync();
+
+        OrderHistory reopened = new OrderHistory(new OrderLog(file));
+        assertEquals(numbers(history.getHeaders(0, 100)), numbers(reopened.getHeaders(0, 100)));
+        assertEquals(99, reopened.findHeader(99).getOrderNumber());
+        assertNull(reopened.findHeader(5));
+    }
+
+    @Test
+    public void history_pagesAfterOrderNumberAcrossCancellations() throws IOException {
+        OrderHistory history = new OrderHistory(new OrderLog(file));
+        for (int number = 1; number <= 30; number++) {
+            history.add(order(number, MenuItems.coffee("Tall", 0), 1));
+        }
+        List<OrderHeader> first = history.getHeadersAfter(0, 10);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), numbers(first));
+
+        // A cancel racing the next page load must neither skip nor repeat a header.
+        history.cancel(3);
+        history.cancel(10);
+        history.cancel(12);
+        assertEquals(Arrays.asList(11, 13, 14), numbers(history.getHeadersAfter(10, 3)));
+        for (int number = 13; number <= 28; number++) {
+            history.cancel(number);
+        }
+        assertEquals(Arrays.asList(11, 29, 30), numbers(history.getHeadersAfter(10, 5)));
+        assertEquals(Arrays.asList(29, 30), numbers(history.getHeadersAfter(12, 5)));
+        assertTrue(history.getHeadersAfter(30, 5).isEmpty());
+        history.sync();
+
+        OrderHistory reopened = new OrderHistory(new OrderLog(file));
+        assertEquals(Arrays.asList(11, 29), numbers(reopened.getHeadersAfter(9, 2)));
+    }
+
+    @Test
+    public void memoryHistory_keepsOrdersWithoutLog() throws IOException {
+        OrderHistory history = new OrderHistory();
+        PlacedOrder placed = order(1, MenuItems.coffee("Short", 1), 2);
+        OrderHeader header = history.add(placed);
+        assertSame(placed, history.getOrder(header));
+        history.cancel(1);
+        assertEquals(0, history.getOrderCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void memoryHistory_rejectsUnknownOrder() throws IOException {
+        OrderHistory history = new OrderHistory();
+        OrderHeader header = history.add(order(1, MenuItems.coffee("Short", 1), 2));
+        history.cancel(1);
+        history.getOrder(header);
+    }
+
+    private static void assertUnreadable(OrderLog log, long offset) {
+        try {
+            log.readOrder(offset);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            // The bad code is reported like any other corrupt record.
+        }
+    }
+
+    private static List<Integer> numbers(List<OrderHeader> headers) {
+        List<Integer> numbers = new ArrayList<>();
+        for (OrderHeader header : headers) {
+            numbers.add(header.getOrderNumber());
+        }
+        return numbers;
+    }
+
+    private static PlacedOrder order(int number, MenuItem item, int quantity) {
+        return new PlacedOrder(number, number * 1_000L, Arrays.asList(new OrderLine(item, quantity)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the open-addressing OrderNumberIndex.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderNumberIndexTest {
+
+    @Test
+    public void putGetRemove_matchHashMapUnderRandomOperations() {
+        OrderNumberIndex index = new OrderNumberIndex(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000) - 100;
+            switch (random.nextInt(3)) {
+                case 0:
+                    index.put(key, i);
+                    expected.put(key, i);
+                    break;
+                case 1:
+                    Integer removed = expected.remove(key);
+                    assertEquals(removed == null ? OrderNumberIndex.MISSING : removed, index.remove(key));
+                    break;
+                default:
+                    Integer value = expected.get(key);
+                    assertEquals(value == null ? OrderNumberIndex.MISSING : value, index.get(key));
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), index.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void clear_removesEveryEntry() {
+        OrderNumberIndex index = new OrderNumberIndex(4);
+        for (int orderNumber = 1; orderNumber <= 100; orderNumber++) {
+            index.put(orderNumber, orderNumber - 1);
+        }
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(OrderNumberIndex.MISSING, index.get(50));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativePosition_isRejected() {
+        new OrderNumberIndex(1).put(1, -1);
+    }
+}
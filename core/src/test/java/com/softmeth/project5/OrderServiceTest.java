@@ -0,0 +1,183 @@
+package com.softmeth.project5;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for running order work on the OrderService's workers.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderServiceTest {
+    private static final long TIMEOUT_SECONDS = 5;
+    private OrderHistory history;
+    private MetricsRegistry metrics;
+    private OrderService service;
+    private final LinkedBlockingQueue<Runnable> callbacks = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() {
+        Order.getInstance().resetOrder();
+        history = new OrderHistory();
+        metrics = new MetricsRegistry();
+        metrics.setEnabled(true);
+        service = new OrderService(history, 2, 4, callbacks::add, metrics);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        service.shutdown();
+        assertTrue(service.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void placeOrder_recordsOrderAndDeliversItOnCallbackExecutor() throws Exception {
+        Order.getInstance().addItem(MenuItems.donut("YEAST", "GLAZED_YEAST"), 3);
+        Result<PlacedOrder> placed = new Result<>();
+        service.placeOrder(1_000L, placed);
+
+        PlacedOrder order = placed.await();
+        assertEquals(3, order.getItemCount());
+        assertEquals(1, history.getOrderCount());
+        assertTrue(Order.getInstance().isEmpty());
+        assertSame(Thread.currentThread(), placed.callbackThread);
+    }
+
+    @Test
+    public void placeEmptyOrder_deliversNull() throws Exception {
+        Result<PlacedOrder> placed = new Result<>();
+        service.placeOrder(1_000L, placed);
+
+        assertNull(placed.await());
+        assertEquals(0, history.getOrderCount());
+    }
+
+    @Test
+    public void cancelAndLoad_goThroughHistory() throws Exception {
+        Order.getInstance().addItem(MenuItems.donut("CAKE", "CHOCOLATE_CAKE"), 2);
+        Result<PlacedOrder> placed = new Result<>();
+        service.placeOrder(1_000L, placed);
+        int orderNumber = placed.await().getOrderNumber();
+
+        Result<List<OrderHeader>> headers = new Result<>();
+        service.loadHeadersAfter(0, 10, headers);
+        OrderHeader header = headers.await().get(0);
+        Result<PlacedOrder> loaded = new Result<>();
+        service.loadOrder(header, loaded);
+        assertEquals(1, loaded.await().getDescriptions().size());
+
+        Result<Void> cancelled = new Result<>();
+        service.cancelOrder(orderNumber, cancelled);
+        cancelled.await();
+        assertEquals(0, history.getOrderCount());
+    }
+
+    @Test
+    public void failingTask_deliversFailureAndIsCounted() throws Exception {
+        Result<Object> result = new Result<>();
+        service.submit(() -> {
+            throw new IOException("disk full");
+        }, result);
+
+        Exception error = result.awaitFailure();
+        assertTrue(error instanceof IOException);
+        assertEquals(1, metrics.counter("orderService.failed").get());
+        assertEquals(0, metrics.counter("orderService.completed").get());
+    }
+
+    @Test
+    public void fullQueue_rejectsTaskWithoutBlockingCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            service.submit(() -> {
+                started.countDown();
+                return release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }, null);
+        }
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            service.submit(() -> null, null);
+        }
+        assertEquals(4, service.getQueueDepth());
+        assertEquals(4, service.getMaxQueueDepth());
+
+        Result<Object> rejected = new Result<>();
+        service.submit(() -> "never runs", rejected);
+        assertTrue(rejected.awaitFailure() instanceof RejectedExecutionException);
+        assertEquals(1, metrics.counter("orderService.rejected").get());
+
+        release.countDown();
+        service.shutdown();
+        assertTrue(service.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(6, metrics.counter("orderService.completed").get());
+        assertEquals(7, metrics.counter("orderService.submitted").get());
+        MetricsRegistry.Histogram queueWait = metrics.histogram("orderService.queueWait");
+        MetricsRegistry.Histogram run = metrics.histogram("orderService.run");
+        assertEquals(6, queueWait.getCount());
+        assertTrue(queueWait.getMaxNanos() > 0);
+        assertEquals(6, run.getCount());
+        assertTrue(run.getMaxNanos() >= run.getMeanNanos());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroWorkers_isRejected() {
+        new OrderService(history, 0, 1, Runnable::run);
+    }
+
+    /**
+     * Records the outcome of a task; await() runs the callbacks the service queued for the
+     * test thread, the way the UI thread would.
+     */
+    private class Result<T> implements OrderService.Callback<T> {
+        private boolean done;
+        private T value;
+        private Exception error;
+        private Thread callbackThread;
+
+        @Override
+        public void onSuccess(T result) {
+            done = true;
+            value = result;
+            callbackThread = Thread.currentThread();
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            done = true;
+            error = e;
+        }
+
+        T await() throws Exception {
+            runCallbacks();
+            if (error != null) {
+                throw error;
+            }
+            return value;
+        }
+
+        Exception awaitFailure() throws InterruptedException {
+            runCallbacks();
+            assertNotNull("Expected a failure", error);
+            return error;
+        }
+
+        private void runCallbacks() throws InterruptedException {
+            while (!done) {
+                Runnable callback = callbacks.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                assertNotNull("Timed out waiting for a callback", callback);
+                callback.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.softmeth.project5;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the running totals kept by Order.
+ *
+ * @author Ridwan Sharkar
+ */
+public class OrderTest {
+    private static final double DELTA = 1e-9;
+    private Order order;
+
+    @Before
+    public void setUp() {
+        Order.getInstance().resetOrder();
+        order = Order.getInstance();
+    }
+
+    @Test
+    public void emptyOrder_hasZeroTotals() {
+        assertEquals(0, order.getSubtotalCents());
+        assertEquals(0, order.getTaxCents());
+        assertEquals(0, order.getTotalCents());
+    }
+
+    @Test
+    public void addAndRemove_updateTotals() {
+        Donut donut = new Donut("YEAST", "GLAZED_YEAST");
+        order.addItem(donut);
+        order.addItem(new Coffee("Tall", 2));
+        assertEquals(179 + 249 + 60, order.getSubtotalCents());
+        assertEquals(34, order.getTaxCents()); // 7% of $4.88 = $0.3416
+        assertEquals(488 + 34, order.getTotalCents());
+        assertEquals(5.22, order.getTotal(), DELTA);
+        order.removeItem(donut);
+        assertEquals(249 + 60, order.getSubtotalCents());
+    }
+
+    @Test
+    public void removeMissingItem_leavesTotalsUnchanged() {
+        order.addItem(new Donut("CAKE", "MOCHA_CAKE"));
+        order.removeItem(new Donut("YEAST", "GLAZED_YEAST"));
+        assertEquals(189, order.getSubtotalCents());
+    }
+
+    @Test
+    public void equalItems_mergeIntoOneLine() {
+        order.addItem(new Donut("YEAST", "GLAZED_YEAST"), 12);
+        order.addItem(new Donut("YEAST", "GLAZED_YEAST"), 132);
+        order.addItem(new Donut("CAKE", "CHAI_CAKE"));
+        List<OrderLine> lines = order.getLines();
+        assertEquals(2, lines.size());
+        assertEquals(144, lines.get(0).getQuantity());
+        assertEquals(145, order.getItemCount());
+        assertEquals(144 * 179 + 189, order.getSubtotalCents());
+    }
+
+    @Test
+    public void removeLine_removesWholeQuantity() {
+        order.addItem(new Donut("YEAST", "GLAZED_YEAST"), 6);
+        order.addItem(new Donut("CAKE", "CHAI_CAKE"), 2);
+        order.removeLine(order.getLines().get(0));
+        assertEquals(1, order.getLines().size());
+        assertEquals(2 * 189, order.getSubtotalCents());
+        order.removeItem(new Donut("CAKE", "CHAI_CAKE"));
+        assertTrue(order.isEmpty());
+        assertEquals(0, order.getTotalCents());
+    }
+
+    @Test
+    public void listener_isNotifiedOnEveryChange() {
+        final int[] calls = {0};
+        Order.OnTotalsChangedListener listener = o -> calls[0]++;
+        order.addOnTotalsChangedListener(listener);
+        Donut donut = new Donut("DONUT_HOLE", "LEMON_DONUT_HOLE");
+        order.addItem(donut);
+        order.removeItem(donut);
+        order.removeOnTotalsChangedListener(listener);
+        order.addItem(donut);
+        assertEquals(2, calls[0]);
+    }
+
+    @Test
+    public void addLines_mergesOnceAndNotifiesOnce() {
+        final int[] calls = {0};
+        order.addOnTotalsChangedListener(o -> calls[0]++);
+        Donut glazed = new Donut("YEAST", "GLAZED_YEAST");
+        order.addItem(glazed, 2);
+        OrderLine coffee = new OrderLine(new Coffee("Tall", 1), 3);
+        order.addLines(Arrays.asList(new OrderLine(glazed, 10), coffee, new OrderLine(glazed, 1)));
+
+        List<OrderLine> lines = order.getLines();
+        assertEquals(2, lines.size());
+        assertEquals(13, lines.get(0).getQuantity());
+        assertSame(coffee, lines.get(1));
+        assertEquals(13 * 179 + 3 * 279, order.getSubtotalCents());
+        assertEquals(order.recalculateTotalCents(), order.getSubtotalCents());
+        assertEquals(2, calls[0]);
+
+        order.addLines(Collections.<OrderLine>emptyList());
+        assertEquals(2, calls[0]);
+    }
+
+    @Test
+    public void addAll_countsEqualItemsIntoOneLine() {
+        List<MenuItem> catering = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            catering.add(i % 5 == 0 ? MenuItems.coffee("TALL", 0) : MenuItems.donut("CAKE", "CHAI_CAKE"));
+        }
+        order.addAll(catering);
+
+        List<OrderLine> lines = order.getLines();
+        assertEquals(2, lines.size());
+        assertEquals(100, lines.get(0).getQuantity());
+        assertEquals(400, lines.get(1).getQuantity());
+        assertEquals(500, order.getItemCount());
+        assertEquals(order.recalculateTotalCents(), order.getSubtotalCents());
+    }
+
+    @Test
+    public void addLines_toSealedOrder_goesToCurrentOrder() {
+        order.resetOrder();
+        order.addLines(Collections.singletonList(new OrderLine(new Donut("CAKE", "MOCHA_CAKE"), 2)));
+        assertTrue(order.isEmpty());
+        assertEquals(2 * 189, Order.getInstance().getSubtotalCents());
+    }
+
+    @Test
+    public void reorder_sharesPastLinesAndCachedTotal() throws IOException {
+        File file = Files.createTempFile("orders", ".log").toFile();
+        file.delete();
+        try (OrderLog log = new OrderLog(file)) {
+            OrderHistory history = new OrderHistory(log);
+            order.addItem(MenuItems.donut("YEAST", "GLAZED_YEAST"), 6);
+            order.addItem(MenuItems.coffee("GRANDE", 2), 2);
+            Order.placeOrder(history, 1_000L);
+            PlacedOrder past = history.getOrder(history.getHeaders(0, 1).get(0));
+
+            Order current = Order.getInstance();
+            current.addItem(MenuItems.donut("YEAST", "GLAZED_YEAST"));
+            current.reorder(past);
+
+            List<OrderLine> lines = current.getLines();
+            assertEquals(2, lines.size());
+            assertEquals(7, lines.get(0).getQuantity());
+            assertSame(past.getLines().get(1), lines.get(1));
+            assertSame(MenuItems.coffee("GRANDE", 2), lines.get(1).getItem());
+            assertEquals(179 + past.getSubtotalCents(), current.getSubtotalCents());
+            assertEquals(current.recalculateTotalCents(), current.getSubtotalCents());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void randomizedAddRemove_matchesFullRecompute() {
+        Random random = new Random(42);
+        List<MenuItem> menu = Arrays.asList(
+                new Donut("YEAST", "STRAWBERRY_YEAST"),
+                new Donut("CAKE", "CHAI_CAKE"),
+                new Donut("DONUT_HOLE", "BLUEBERRY_DONUT_HOLE"),
+                new Coffee("Short", 0),
+                new Coffee("Venti", 5),
+                new Sandwich("BEEF", "BAGEL", Arrays.asList("CHEESE", "ONIONS")),
+                new Sandwich("FISH", "WHEAT_TOAST", null));
+        for (int step = 0; step < 10_000; step++) {
+            List<OrderLine> lines = order.getLines();
+            if (lines.isEmpty() || random.nextInt(4) > 0) {
+                order.addItem(menu.get(random.nextInt(menu.size())), 1 + random.nextInt(12));
+            } else {
+                order.removeLine(lines.get(random.nextInt(lines.size())));
+            }
+            assertEquals(order.recalculateTotalCents(), order.getSubtotalCents());
+        }
+        assertEquals(Money.applyRate(order.recalculateTotalCents(), Order.TAX_RATE_BASIS_POINTS),
+                order.getTaxCents());
+    }
+
+    @Test
+    public void placeOrder_recordsLinesAndInstallsFreshOrder() throws IOException {
+        OrderHistory history = new OrderHistory();
+        order.addItem(new Donut("YEAST", "GLAZED_YEAST"), 3);
+        order.addItem(new Coffee("Tall", 1));
+        PlacedOrder placed = Order.placeOrder(history, 1_000L);
+        assertEquals(order.getOrderNumber(), placed.getOrderNumber());
+        assertEquals(order.getLines(), placed.getLines());
+        assertEquals(3 * 179 + 249 + 30, placed.getSubtotalCents());
+        assertTrue(order.isSealed());
+        assertNotSame(order, Order.getInstance());
+        assertTrue(Order.getInstance().isEmpty());
+        assertEquals(1, history.getOrderCount());
+        assertNull(Order.placeOrder(history, 2_000L));
+    }
+
+    @Test
+    public void listener_followsCurrentOrderAcrossPlacement() throws IOException {
+        final Order[] notified = {null};
+        Order.OnTotalsChangedListener listener = o -> notified[0] = o;
+        order.addOnTotalsChangedListener(listener);
+        order.addItem(new Donut("CAKE", "MOCHA_CAKE"));
+        Order.placeOrder(new OrderHistory(), 1_000L);
+        Order fresh = Order.getInstance();
+        assertSame(fresh, notified[0]);
+        fresh.addItem(new Coffee("Short", 0));
+        assertSame(fresh, notified[0]);
+        assertEquals(189, order.getSubtotalCents());
+        fresh.removeOnTotalsChangedListener(listener);
+    }
+
+    @Test
+    public void failedPlacement_putsLinesBack() throws IOException {
+        File file = Files.createTempFile("orders", ".log").toFile();
+        file.delete();
+        OrderLog log = new OrderLog(file);
+        log.close();
+        order.addItem(new Donut("YEAST", "GLAZED_YEAST"), 2);
+        try {
+            Order.placeOrder(new OrderHistory(log), 1_000L);
+            fail("Expected the closed log to reject the order");
+        } catch (IOException expected) {
+            assertEquals(2, Order.getInstance().getItemCount());
+            assertEquals(2 * 179, Order.getInstance().getSubtotalCents());
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that summing an end-of-day volume of item prices in long cents gives the exact total,
+ * matching a BigDecimal sum of the dollar prices. The timings of the cent, double and BigDecimal sums are measured in the benchmarks
+ * module by PriceSummationBenchmark.
+ *
+ * @author Ridwan Sharkar
+ */
+public class PriceSummationTest {
+    private static final int ITEM_COUNT = 300_000;
+    private static final long EXPECTED_TOTAL_CENTS = 105_255_620L;
+
+    @Test
+    public void centsSum_isExact() {
+        long centsSum = 0;
+        BigDecimal decimalSum = BigDecimal.ZERO;
+        for (MenuItem item : buildItems()) {
+            centsSum += item.priceCents();
+            decimalSum = decimalSum.add(BigDecimal.valueOf(item.price()));
+        }
+        assertEquals(EXPECTED_TOTAL_CENTS, centsSum);
+        assertEquals(0, decimalSum.compareTo(BigDecimal.valueOf(centsSum, 2)));
+    }
+
+    private static List<MenuItem> buildItems() {
+        List<MenuItem> menu = Arrays.asList(
+                new Donut("YEAST", "GLAZED_YEAST"),
+                new Donut("CAKE", "MOCHA_CAKE"),
+                new Donut("DONUT_HOLE", "LEMON_DONUT_HOLE"),
+                new Coffee("Grande", 3),
+                new Sandwich("CHICKEN", "SOUR_DOUGH", Arrays.asList("LETTUCE", "TOMATOES")));
+        Random random = new Random(7);
+        List<MenuItem> items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(menu.get(random.nextInt(menu.size())));
+        }
+        return items;
+    }
+}
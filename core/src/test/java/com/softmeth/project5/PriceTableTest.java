@@ -0,0 +1,61 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the precomputed Coffee and Sandwich price tables.
+ *
+ * @author Ridwan Sharkar
+ */
+public class PriceTableTest {
+    @Test
+    public void coffeeTable_matchesPricingRules() {
+        String[] sizes = {"Short", "Tall", "Grande", "Venti"};
+        for (int size = 0; size < sizes.length; size++) {
+            for (int addons = 0; addons <= Coffee.MAX_ADDONS; addons++) {
+                long expected = 199 + size * 50 + addons * 30;
+                assertEquals(expected, new Coffee(sizes[size], addons).priceCents());
+                assertEquals(expected, Coffee.lookupPriceCents(size, addons));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void coffee_rejectsTooManyAddons() {
+        new Coffee("Tall", Coffee.MAX_ADDONS + 1);
+    }
+
+    @Test
+    public void sandwichTable_matchesPricingRules() {
+        long[] meatPrices = {899, 999, 1099};
+        long[] addOnPrices = {100, 30, 30, 30};
+        for (Sandwich.MeatChoice meat : Sandwich.MeatChoice.values()) {
+            for (Sandwich.BreadChoice bread : Sandwich.BreadChoice.values()) {
+                for (int mask = 0; mask < 16; mask++) {
+                    long expected = meatPrices[meat.ordinal()];
+                    List<String> addOns = new ArrayList<>();
+                    for (Sandwich.AddOns addOn : Sandwich.AddOns.values()) {
+                        if ((mask & addOn.mask()) != 0) {
+                            expected += addOnPrices[addOn.ordinal()];
+                            addOns.add(addOn.name());
+                        }
+                    }
+                    assertEquals(expected, new Sandwich(meat.name(), bread.name(), addOns).priceCents());
+                    assertEquals(expected, Sandwich.lookupPriceCents(meat, bread, mask));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sandwichWithoutMeat_isFree() {
+        assertEquals(0, new Sandwich(null, "BAGEL", Arrays.asList("CHEESE")).priceCents());
+        assertEquals(0, Sandwich.lookupPriceCents(null, null, 0));
+    }
+}
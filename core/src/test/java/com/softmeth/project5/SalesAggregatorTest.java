@@ -0,0 +1,238 @@
+package com.softmeth.project5;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the sales counters kept by SalesAggregator and AggregatingOrderHistory.
+ *
+ * @author Ridwan Sharkar
+ */
+public class SalesAggregatorTest {
+    private static final String[][] DONUTS = {
+            {"YEAST", "GLAZED_YEAST"}, {"YEAST", "JELLY_YEAST"}, {"CAKE", "CHOCOLATE_CAKE"},
+            {"CAKE", "BLUEBERRY_CAKE"}, {"DONUT_HOLE", "POWDERED_DONUT_HOLE"}};
+    private File file;
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("orders", ".log").toFile();
+        assertTrue(file.delete());
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+        file.delete();
+    }
+
+    @Test
+    public void addOrder_countsEveryDimension() {
+        Coffee grande = MenuItems.coffee("GRANDE", 2);
+        Donut glazed = MenuItems.donut("YEAST", "GLAZED_YEAST");
+        Sandwich sandwich = MenuItems.sandwich(Sandwich.MeatChoice.BEEF, Sandwich.BreadChoice.BAGEL,
+                Sandwich.AddOns.CHEESE.mask());
+        SalesAggregator sales = new SalesAggregator();
+        sales.addOrder(order(1, new OrderLine(grande, 2), new OrderLine(glazed, 3), new OrderLine(sandwich, 1)));
+
+        assertEquals(1, sales.getOrderCount());
+        assertEquals(6, sales.getItemCount());
+        assertEquals(2 * grande.priceCents() + 3 * glazed.priceCents() + sandwich.priceCents(),
+                sales.getRevenueCents());
+        assertEquals(2, sales.getUnits(ItemKind.COFFEE));
+        assertEquals(3 * glazed.priceCents(), sales.getRevenueCents(ItemKind.DONUT));
+        assertEquals(3, sales.getDonutTypeUnits(Donut.DonutType.YEAST));
+        assertEquals(3, sales.getDonutFlavorUnits("GLAZED_YEAST"));
+        assertEquals(2, sales.getCupSizeUnits(grande.getCupSizeIndex()));
+        assertEquals(2 * grande.priceCents(), sales.getCupSizeRevenueCents(grande.getCupSizeIndex()));
+        assertEquals(2, sales.getCoffeeUnits(grande.getPackedCode()));
+        assertEquals(1, sales.getSandwichUnits(sandwich.getPackedCode()));
+    }
+
+    @Test
+    public void removeOrder_undoesAddOrder() {
+        PlacedOrder first = order(1, new OrderLine(MenuItems.donut("CAKE", "CHOCOLATE_CAKE"), 4));
+        PlacedOrder second = order(2, new OrderLine(MenuItems.coffee("TALL", 0), 1));
+        SalesAggregator sales = new SalesAggregator();
+        sales.addOrder(first);
+        sales.addOrder(second);
+        sales.removeOrder(first);
+
+        assertEquals(1, sales.getOrderCount());
+        assertEquals(second.getSubtotalCents(), sales.getRevenueCents());
+        assertEquals(0, sales.getDonutFlavorUnits("CHOCOLATE_CAKE"));
+        assertTrue(sales.getTopDonutFlavors(5).isEmpty());
+    }
+
+    @Test
+    public void topDonutFlavors_rankedByUnits() {
+        SalesAggregator sales = new SalesAggregator();
+        sales.addOrder(order(1, new OrderLine(MenuItems.donut("YEAST", "JELLY_YEAST"), 2),
+                new OrderLine(MenuItems.donut("CAKE", "CHOCOLATE_CAKE"), 5),
+                new OrderLine(MenuItems.donut("YEAST", "GLAZED_YEAST"), 3)));
+
+        List<SalesAggregator.FlavorSales> top = sales.getTopDonutFlavors(2);
+        assertEquals(2, top.size());
+        assertEquals("CHOCOLATE_CAKE", top.get(0).getFlavor());
+        assertEquals(5, top.get(0).getUnits());
+        assertEquals("GLAZED_YEAST", top.get(1).getFlavor());
+    }
+
+    @Test
+    public void averageTicket_roundsToNearestCent() {
+        SalesAggregator sales = new SalesAggregator();
+        assertEquals(0, sales.getAverageTicketCents());
+        sales.addOrder(order(1, new OrderLine(MenuItems.donut("DONUT_HOLE", "POWDERED_DONUT_HOLE"), 1)));
+        sales.addOrder(order(2, new OrderLine(MenuItems.donut("DONUT_HOLE", "POWDERED_DONUT_HOLE"), 2)));
+        assertEquals((39 * 3 + 1) / 2, sales.getAverageTicketCents());
+    }
+
+    @Test
+    public void parallelAggregate_matchesSequentialCounters() {
+        List<PlacedOrder> orders = randomOrders(5_000, 42L);
+        SalesAggregator sequential = new SalesAggregator();
+        for (PlacedOrder order : orders) {
+            sequential.addOrder(order);
+        }
+        SalesAggregator parallel = SalesAggregator.aggregate(orders, pool);
+
+        assertSameCounters(sequential, parallel);
+    }
+
+    @Test
+    public void aggregatingHistory_tracksPlacementsAndCancellations() throws IOException {
+        try (OrderLog log = new OrderLog(file)) {
+            AggregatingOrderHistory history = new AggregatingOrderHistory(new OrderHistory(log));
+            List<PlacedOrder> orders = randomOrders(50, 7L);
+            for (PlacedOrder order : orders) {
+                history.add(order);
+            }
+            history.cancel(orders.get(10).getOrderNumber());
+            history.cancel(orders.get(20).getOrderNumber());
+            history.cancel(-1);
+
+            SalesAggregator expected = new SalesAggregator();
+            for (int i = 0; i < orders.size(); i++) {
+                if (i != 10 && i != 20) {
+                    expected.addOrder(orders.get(i));
+                }
+            }
+            assertSameCounters(expected, history.getSales());
+        }
+    }
+
+    @Test
+    public void rebuildSales_countsPersistedHistory() throws IOException {
+        List<PlacedOrder> orders = randomOrders(1_000, 11L);
+        try (OrderLog log = new OrderLog(file)) {
+            OrderHistory history = new OrderHistory(log);
+            for (PlacedOrder order : orders) {
+                history.add(order);
+            }
+            history.cancel(orders.get(0).getOrderNumber());
+        }
+        try (OrderLog log = new OrderLog(file)) {
+            AggregatingOrderHistory reopened = new AggregatingOrderHistory(new OrderHistory(log));
+            assertEquals(0, reopened.getSales().getOrderCount());
+            reopened.rebuildSales(pool);
+
+            SalesAggregator expected = SalesAggregator.aggregate(orders.subList(1, orders.size()), pool);
+            assertSameCounters(expected, reopened.getSales());
+        }
+    }
+
+    @Test
+    public void rebuildSales_leavesOpenedOrdersCached() throws IOException {
+        List<PlacedOrder> orders = randomOrders(500, 13L);
+        try (OrderLog log = new OrderLog(file)) {
+            OrderHistory history = new OrderHistory(log);
+            for (PlacedOrder order : orders) {
+                history.add(order);
+            }
+            history.cancel(orders.get(3).getOrderNumber());
+            OrderHeader header = history.findHeader(orders.get(7).getOrderNumber());
+            PlacedOrder opened = history.getOrder(header);
+
+            List<PlacedOrder> loaded = history.loadOrders();
+            assertEquals(499, loaded.size());
+            assertEquals(orders.get(4).getOrderNumber(), loaded.get(3).getOrderNumber());
+
+            AggregatingOrderHistory aggregating = new AggregatingOrderHistory(history);
+            aggregating.rebuildSales(pool);
+            assertEquals(499, aggregating.getSales().getOrderCount());
+            assertSame(opened, history.getOrder(header));
+        }
+    }
+
+    private static void assertSameCounters(SalesAggregator expected, SalesAggregator actual) {
+        assertEquals(expected.getOrderCount(), actual.getOrderCount());
+        assertEquals(expected.getItemCount(), actual.getItemCount());
+        assertEquals(expected.getRevenueCents(), actual.getRevenueCents());
+        for (ItemKind kind : ItemKind.values()) {
+            assertEquals(expected.getUnits(kind), actual.getUnits(kind));
+            assertEquals(expected.getRevenueCents(kind), actual.getRevenueCents(kind));
+        }
+        for (Donut.DonutType type : Donut.DonutType.values()) {
+            assertEquals(expected.getDonutTypeRevenueCents(type), actual.getDonutTypeRevenueCents(type));
+        }
+        for (String[] donut : DONUTS) {
+            assertEquals(expected.getDonutFlavorUnits(donut[1]), actual.getDonutFlavorUnits(donut[1]));
+        }
+        for (int size = 0; size < Coffee.CUP_SIZE_COUNT; size++) {
+            assertEquals(expected.getCupSizeRevenueCents(size), actual.getCupSizeRevenueCents(size));
+        }
+        for (int code = 0; code < Coffee.CONFIG_CODE_COUNT; code++) {
+            assertEquals(expected.getCoffeeUnits(code), actual.getCoffeeUnits(code));
+        }
+        for (int code = 0; code < Sandwich.CONFIG_CODE_COUNT; code++) {
+            assertEquals(expected.getSandwichUnits(code), actual.getSandwichUnits(code));
+        }
+    }
+
+    private static PlacedOrder order(int orderNumber, OrderLine... lines) {
+        return new PlacedOrder(orderNumber, 1_000L, Arrays.asList(lines));
+    }
+
+    private static List<PlacedOrder> randomOrders(int count, long seed) {
+        Random random = new Random(seed);
+        List<PlacedOrder> orders = new ArrayList<>(count);
+        for (int n = 1; n <= count; n++) {
+            int lineCount = 1 + random.nextInt(4);
+            List<OrderLine> lines = new ArrayList<>(lineCount);
+            for (int i = 0; i < lineCount; i++) {
+                lines.add(new OrderLine(randomItem(random), 1 + random.nextInt(3)));
+            }
+            orders.add(new PlacedOrder(n, n * 1_000L, lines));
+        }
+        return orders;
+    }
+
+    private static MenuItem randomItem(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return MenuItems.coffee(random.nextInt(Coffee.CONFIG_CODE_COUNT));
+            case 1:
+                String[] donut = DONUTS[random.nextInt(DONUTS.length)];
+                return MenuItems.donut(donut[0], donut[1]);
+            default:
+                Sandwich.MeatChoice[] meats = Sandwich.MeatChoice.values();
+                Sandwich.BreadChoice[] breads = Sandwich.BreadChoice.values();
+                return MenuItems.sandwich(meats[random.nextInt(meats.length)],
+                        breads[random.nextInt(breads.length)], random.nextInt(16));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.softmeth.project5;
+
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for Sandwich's packed configuration and its memory footprint.
+ *
+ * @author Ridwan Sharkar
+ */
+public class SandwichTest {
+    @Test
+    public void packedCode_roundTrips() {
+        Sandwich sandwich = new Sandwich("fish", "SOUR_DOUGH", Arrays.asList("Onions", "cheese"));
+        Sandwich copy = Sandwich.fromPackedCode(sandwich.getPackedCode());
+        assertEquals(sandwich, copy);
+        assertEquals(sandwich.hashCode(), copy.hashCode());
+        assertEquals(Sandwich.MeatChoice.FISH, copy.getMeatChoice());
+        assertEquals(Sandwich.BreadChoice.SOUR_DOUGH, copy.getBreadChoice());
+        assertEquals(EnumSet.of(Sandwich.AddOns.CHEESE, Sandwich.AddOns.ONIONS), copy.getAddOns());
+        assertEquals(sandwich.priceCents(), copy.priceCents());
+    }
+
+    @Test
+    public void addOnOrderAndDuplicates_doNotAffectEquality() {
+        Sandwich a = new Sandwich("BEEF", "BAGEL", Arrays.asList("LETTUCE", "CHEESE"));
+        Sandwich b = new Sandwich("BEEF", "BAGEL", Arrays.asList("CHEESE", "LETTUCE", "CHEESE"));
+        assertEquals(a, b);
+        assertEquals(a.toString(), b.toString());
+        assertNotEquals(a, new Sandwich("BEEF", "WHEAT_TOAST", Arrays.asList("CHEESE", "LETTUCE")));
+    }
+
+    @Test
+    public void toString_listsAddOnsInMenuOrder() {
+        Sandwich sandwich = Sandwich.createSandwich("CHICKEN", "Wheat Toast", Arrays.asList("TOMATOES", "CHEESE"));
+        assertEquals("Sandwich: Meat - CHICKEN, Bread - WHEAT_TOAST, Add-ons - CHEESE, TOMATOES", sandwich.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownAddOn_isRejected() {
+        new Sandwich("BEEF", "BAGEL", Arrays.asList("PICKLES"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void outOfRangeCode_isRejected() {
+        Sandwich.fromPackedCode(Sandwich.CONFIG_CODE_COUNT);
+    }
+
+    @Test
+    public void configuration_isPackedIntoOneInt() {
+        List<Field> stateFields = new ArrayList<>();
+        for (Class<?> type = Sandwich.class; type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    stateFields.add(field);
+                }
+            }
+        }
+        for (Field field : stateFields) {
+            assertFalse(field.toString(), Collection.class.isAssignableFrom(field.getType()));
+            assertFalse(field.toString(), field.getType().isArray());
+        }
+        Field configCode = null;
+        for (Field field : Sandwich.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                assertNull("Sandwich holds a single configuration field", configCode);
+                configCode = field;
+            }
+        }
+        assertNotNull(configCode);
+        assertEquals(int.class, configCode.getType());
+    }
+
+    @Test
+    public void footprint_dropsTheAddOnListOfTheOldRepresentation() {
+        Sandwich packed = new Sandwich("BEEF", "BAGEL", Arrays.asList("CHEESE", "LETTUCE", "TOMATOES", "ONIONS"));
+        ListSandwich legacy = new ListSandwich(packed);
+        long listSize = ownedSize(legacy.addOns);
+
+        // Both extend MenuItem, so both carry the cached label; compare before and after it is built.
+        assertTrue(ownedSize(legacy) - ownedSize(packed) >= listSize);
+        assertEquals(packed.toString(), legacy.toString());
+        assertTrue(ownedSize(legacy) - ownedSize(packed) >= listSize);
+    }
+
+    /**
+     * Measures the bytes reachable from an object, leaving out the enum constants every sandwich shares.
+     *
+     * @param root the object to measure
+     * @return the size of the objects the root owns, in bytes
+     */
+    private static long ownedSize(Object root) {
+        return GraphLayout.parseInstance(root)
+                .subtract(GraphLayout.parseInstance((Object[]) Sandwich.MeatChoice.values()))
+                .subtract(GraphLayout.parseInstance((Object[]) Sandwich.BreadChoice.values()))
+                .subtract(GraphLayout.parseInstance((Object[]) Sandwich.AddOns.values()))
+                .totalSize();
+    }
+
+    /**
+     * Sandwich as it was stored before its configuration was packed: enum fields and a list of add-ons.
+     */
+    private static final class ListSandwich extends MenuItem {
+        private final Sandwich.MeatChoice meatChoice;
+        private final Sandwich.BreadChoice breadChoice;
+        private final List<Sandwich.AddOns> addOns;
+
+        ListSandwich(Sandwich sandwich) {
+            meatChoice = sandwich.getMeatChoice();
+            breadChoice = sandwich.getBreadChoice();
+            addOns = new ArrayList<>(sandwich.getAddOns());
+        }
+
+        @Override
+        public long priceCents() {
+            int addOnMask = 0;
+            for (Sandwich.AddOns addOn : addOns) {
+                addOnMask |= addOn.mask();
+            }
+            return Sandwich.lookupPriceCents(meatChoice, breadChoice, addOnMask);
+        }
+
+        @Override
+        protected String buildLabel() {
+            StringBuilder label = new StringBuilder("Sandwich: Meat - ").append(meatChoice)
+                    .append(", Bread - ").append(breadChoice)
+                    .append(", Add-ons - ");
+            for (int i = 0; i < addOns.size(); i++) {
+                label.append(i == 0 ? "" : ", ").append(addOns.get(i));
+            }
+            return label.toString();
+        }
+    }
+}
@@ -21,3 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "Project5"
 include(":app")
+include(":core")
+include(":benchmarks")